@@ -1,100 +1,126 @@
-        package com.taskmanager.task_manager_backend.config;
-
-        import com.taskmanager.task_manager_backend.service.AuthenticationService;
-        import jakarta.servlet.FilterChain;
-        import jakarta.servlet.ServletException;
-        import jakarta.servlet.http.HttpServletRequest;
-        import jakarta.servlet.http.HttpServletResponse;
-        import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-        import org.springframework.security.core.context.SecurityContextHolder;
-        import org.springframework.security.core.userdetails.UserDetails;
-        import org.springframework.security.core.userdetails.UserDetailsService;
-        import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-        import org.springframework.stereotype.Component;
-        import org.springframework.web.filter.OncePerRequestFilter;
-
-        import java.io.IOException;
-
-        @Component
-        public class JwtRequestFilter extends OncePerRequestFilter {
-
-            private final UserDetailsService userDetailsService;
-            private final AuthenticationService authenticationService;
-
-            public JwtRequestFilter(UserDetailsService userDetailsService,
-                                    AuthenticationService authenticationService) {
-                this.userDetailsService = userDetailsService;
-                this.authenticationService = authenticationService;
+package com.taskmanager.task_manager_backend.config;
+
+import com.taskmanager.task_manager_backend.dto.JwtClaims;
+import com.taskmanager.task_manager_backend.service.AuthenticationService;
+import com.taskmanager.task_manager_backend.service.TokenRevocationService;
+import com.taskmanager.task_manager_backend.service.UserStatusCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+
+@Component
+public class JwtRequestFilter extends OncePerRequestFilter {
+
+    private final AuthenticationService authenticationService;
+    private final UserStatusCache userStatusCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final RequestTracer requestTracer;
+
+    public JwtRequestFilter(AuthenticationService authenticationService,
+                            UserStatusCache userStatusCache,
+                            TokenRevocationService tokenRevocationService,
+                            RequestTracer requestTracer) {
+        this.authenticationService = authenticationService;
+        this.userStatusCache = userStatusCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.requestTracer = requestTracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        long verifyNanos = 0;
+        long userNanos = 0;
+        String outcome = "none";
+
+        final String requestTokenHeader = request.getHeader("Authorization");
+        String jwtToken = null;
+        if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
+            jwtToken = requestTokenHeader.substring(7);
+        }
+
+        long headerNanos = System.nanoTime() - start;
+        requestTracer.recordHeader(headerNanos);
+
+        JwtClaims claims = null;
+
+        if (jwtToken != null) {
+            long verifyStart = System.nanoTime();
+            try {
+                // Single verified parse: signature and expiry are checked here
+                claims = authenticationService.verify(jwtToken);
+
+                // In-memory bloom filter + exact set, no database access
+                if (tokenRevocationService.isRevoked(claims.getTokenId())
+                        || tokenRevocationService.isRevoked(claims.getFamilyId())) {
+                    claims = null;
+                    outcome = "revoked";
+                } else if (claims.isRefreshToken()) {
+                    // Refresh tokens are only accepted by /auth/refresh
+                    claims = null;
+                    outcome = "refresh-token";
+                }
+            } catch (IllegalArgumentException e) {
+                outcome = "malformed";
+                logger.warn("Unable to get JWT Token");
+            } catch (Exception e) {
+                outcome = "invalid";
+                logger.warn("JWT Token has expired or is invalid");
             }
+            verifyNanos = System.nanoTime() - verifyStart;
+            requestTracer.recordVerify(verifyNanos);
+        }
 
-            @Override
-            protected void doFilterInternal(HttpServletRequest request,
-                                            HttpServletResponse response,
-                                            FilterChain chain) throws ServletException, IOException {
-
-                final String requestTokenHeader = request.getHeader("Authorization");
-
-                System.out.println("=== JWT Filter Debug ===");
-                System.out.println("Request URI: " + request.getRequestURI());
-                System.out.println("Authorization Header: " + (requestTokenHeader != null ? "Present" : "Missing"));
-
-                String username = null;
-                String jwtToken = null;
-
-                if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-                    jwtToken = requestTokenHeader.substring(7);
-                    System.out.println("JWT Token extracted: " + jwtToken.substring(0, Math.min(20, jwtToken.length())) + "...");
-
-                    try {
-                        username = authenticationService.extractUsername(jwtToken);
-                        System.out.println("Username extracted from JWT: " + username);
-                    } catch (IllegalArgumentException e) {
-                        System.err.println("Unable to get JWT Token: " + e.getMessage());
-                        logger.warn("Unable to get JWT Token");
-                    } catch (Exception e) {
-                        System.err.println("JWT Token error: " + e.getMessage());
-                        logger.warn("JWT Token has expired or is invalid");
-                    }
-                } else {
-                    System.out.println("No Bearer token found in Authorization header");
-                }
+        String username = claims != null ? claims.getUsername() : null;
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    System.out.println("Attempting to load user details for: " + username);
-
-                    try {
-                        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                        System.out.println("User details loaded successfully");
-
-                        if (authenticationService.validateToken(jwtToken, userDetails)) {
-                            System.out.println("JWT Token validated successfully");
-
-                            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                                    new UsernamePasswordAuthenticationToken(
-                                            userDetails, null, userDetails.getAuthorities());
-
-                            usernamePasswordAuthenticationToken
-                                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-                            System.out.println("Authentication set in SecurityContext");
-                        } else {
-                            System.err.println("JWT Token validation failed");
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Error loading user details: " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                } else {
-                    if (username == null) {
-                        System.out.println("Username is null - skipping authentication");
-                    }
-                    if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                        System.out.println("Authentication already present in SecurityContext");
-                    }
-                }
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long userStart = System.nanoTime();
+
+            // Cached account status check instead of a per-request user lookup
+            if (userStatusCache.isActive(username)) {
+                JwtUserPrincipal principal = new JwtUserPrincipal(claims);
+
+                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                        new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+
+                usernamePasswordAuthenticationToken
+                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                outcome = "authenticated";
+            } else {
+                outcome = "inactive";
+            }
 
-                System.out.println("=== End JWT Filter Debug ===\n");
-                chain.doFilter(request, response);
+            userNanos = System.nanoTime() - userStart;
+            requestTracer.recordUser(userNanos);
+        } else if (username != null) {
+            outcome = "preauthenticated";
+        }
+
+        long chainStart = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long chainNanos = System.nanoTime() - chainStart;
+            requestTracer.recordChain(chainNanos);
+
+            if (requestTracer.shouldLog()) {
+                requestTracer.log(request, response.getStatus(), outcome,
+                        headerNanos, verifyNanos, userNanos, chainNanos);
             }
-        }
\ No newline at end of file
+        }
+    }
+}
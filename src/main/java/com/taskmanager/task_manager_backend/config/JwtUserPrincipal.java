@@ -0,0 +1,48 @@
+package com.taskmanager.task_manager_backend.config;
+
+import com.taskmanager.task_manager_backend.dto.JwtClaims;
+
+import java.security.Principal;
+
+/**
+ * Lightweight authenticated principal built straight from verified JWT claims.
+ * Replaces the full User document for request authentication so the filter
+ * does not need a database lookup on every request.
+ */
+public class JwtUserPrincipal implements Principal {
+
+    private final JwtClaims claims;
+
+    public JwtUserPrincipal(JwtClaims claims) {
+        this.claims = claims;
+    }
+
+    @Override
+    public String getName() {
+        return claims.getUsername();
+    }
+
+    public String getUsername() {
+        return claims.getUsername();
+    }
+
+    public String getUserId() {
+        return claims.getUserId();
+    }
+
+    public String getEmail() {
+        return claims.getEmail();
+    }
+
+    /**
+     * The verified token claims, shared with controllers to avoid re-parsing the token
+     */
+    public JwtClaims getClaims() {
+        return claims;
+    }
+
+    @Override
+    public String toString() {
+        return claims.getUsername();
+    }
+}
@@ -0,0 +1,179 @@
+package com.taskmanager.task_manager_backend.config;
+
+import com.taskmanager.task_manager_backend.model.BoardRevision;
+import com.taskmanager.task_manager_backend.model.KanbanBoard;
+import com.taskmanager.task_manager_backend.model.Notification;
+import com.taskmanager.task_manager_backend.model.NotificationCounter;
+import com.taskmanager.task_manager_backend.model.RevokedToken;
+import com.taskmanager.task_manager_backend.model.SchedulerNode;
+import com.taskmanager.task_manager_backend.model.SentEmail;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskEvent;
+import com.taskmanager.task_manager_backend.model.User;
+import com.taskmanager.task_manager_backend.model.UserTaskStats;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every index the application relies on, keyed by entity.
+ *
+ * Keys use stored field names (_id, not id). Each index notes the query shapes it
+ * serves; when adding a repository method or template query, add or extend an
+ * index here - MongoIndexPlanTest fails on any collection scan.
+ */
+public final class MongoIndexCatalog {
+
+    public static final String TASK_TEXT_INDEX = "task_text";
+    public static final String TASK_TERMS_INDEX = "username_searchTerms";
+    public static final String NOTIFICATION_READ_TTL_INDEX = "read_ttl";
+
+    private static final Sort.Direction ASC = Sort.Direction.ASC;
+    private static final Sort.Direction DESC = Sort.Direction.DESC;
+
+    private MongoIndexCatalog() {
+    }
+
+    /**
+     * @param readNotificationTtl how long read notifications live when retention is TTL
+     *                            based, or null when the cleanup sweep handles it
+     */
+    public static Map<Class<?>, List<IndexDefinition>> declaredIndexes(Duration readNotificationTtl) {
+        Map<Class<?>, List<IndexDefinition>> indexes = new LinkedHashMap<>();
+
+        indexes.put(Task.class, List.of(
+                // findByUsername, findByUsernameOrderByCreatedAtDesc, countByUsername, keyset page by createdAt
+                new Index().on("username", ASC).on("createdAt", DESC).on("_id", DESC),
+                // findByUsernameOrderByDueDateAsc, findByUsernameAndDueDateBefore, overdue counts, keyset page by dueDate
+                new Index().on("username", ASC).on("dueDate", ASC).on("_id", ASC),
+                // export streams a user's tasks in _id order
+                new Index().on("username", ASC).on("_id", ASC),
+                // findByStatusAndUsername, countByStatusAndUsername, dashboard overdue count
+                new Index().on("username", ASC).on("status", ASC).on("dueDate", ASC),
+                // findByPriorityAndUsername, countByPriorityAndUsername
+                new Index().on("username", ASC).on("priority", ASC),
+                // board listings and every findByUsernameAndBoardId* / countByUsernameAndBoardId
+                new Index().on("username", ASC).on("boardId", ASC).on("positionInColumn", ASC),
+                // findByUsernameAndColumnIdOrderByPositionInColumnAsc, countByUsernameAndColumnId
+                new Index().on("username", ASC).on("columnId", ASC).on("positionInColumn", ASC),
+                // board listing in rank order, and a column's cards around a drop point (covered with _id)
+                new Index().on("username", ASC).on("boardId", ASC).on("columnId", ASC).on("rank", ASC).on("_id", ASC),
+                // due-date scans across all users (schedulers)
+                new Index().on("dueDate", ASC).on("status", ASC),
+                // typeahead prefix lookups
+                new Index().on("username", ASC).on("searchTerms", ASC).named(TASK_TERMS_INDEX),
+                // relevance-ranked keyword search, scoped to one user
+                taskTextIndex(),
+                // tasks with undelivered events; partial, so it only holds those few
+                new Index().on("outbox.occurredAt", ASC)
+                        .partial(PartialIndexFilter.of(Criteria.where("outbox.occurredAt").exists(true)))));
+
+        indexes.put(TaskEvent.class, List.of(
+                // deletion events, dispatched oldest first
+                new Index().on("occurredAt", ASC)));
+
+        List<IndexDefinition> notificationIndexes = new ArrayList<>(List.of(
+                // unread/unarchived inbox, unread counts, deleteByUsernameAndReadTrue
+                new Index().on("username", ASC).on("read", ASC).on("archived", ASC).on("createdAt", DESC),
+                // findByUsernameAndArchivedFalseOrderByCreatedAtDesc
+                new Index().on("username", ASC).on("archived", ASC).on("createdAt", DESC),
+                // findByUsernameOrderByCreatedAtDesc
+                new Index().on("username", ASC).on("createdAt", DESC),
+                // deleting a task's notifications
+                new Index().on("taskId", ASC),
+                // cleanup sweep of old read notifications
+                new Index().on("createdAt", ASC),
+                // generated notifications are upserted by key; sparse, as user-facing ones have none
+                new Index().on("dedupeKey", ASC).unique().sparse()));
+        if (readNotificationTtl != null) {
+            // TTL retention: read notifications go readNotificationTtl after being read.
+            // Changing the period later needs a collMod; createIndex rejects new options.
+            notificationIndexes.add(new Index().on("readAt", ASC)
+                    .expire(readNotificationTtl)
+                    .partial(PartialIndexFilter.of(Criteria.where("read").is(true)))
+                    .named(NOTIFICATION_READ_TTL_INDEX));
+        }
+        indexes.put(Notification.class, notificationIndexes);
+
+        indexes.put(KanbanBoard.class, List.of(
+                // findByUsername, findByUsernameOrderByCreatedAtDesc, countByUsername
+                new Index().on("username", ASC).on("createdAt", DESC),
+                // findByUsernameOrderByUpdatedAtDesc
+                new Index().on("username", ASC).on("updatedAt", DESC),
+                // findByUsernameAndName
+                new Index().on("username", ASC).on("name", ASC)));
+
+        indexes.put(BoardRevision.class, List.of(
+                // one revision per owner and board; concurrent first upserts rely on it being unique
+                new Index().on("username", ASC).on("boardId", ASC).unique()));
+
+        indexes.put(User.class, List.of(
+                // Same names @Indexed would have used, had auto index creation been on
+                new Index().on("username", ASC).unique().named("username"),
+                new Index().on("email", ASC).unique().named("email")));
+
+        indexes.put(UserTaskStats.class, List.of(
+                // TTL: counters are rebuilt from the tasks after they expire
+                new Index().on("expiresAt", ASC).expire(0, TimeUnit.SECONDS)));
+
+        indexes.put(NotificationCounter.class, List.of(
+                // TTL: unread counts are recounted after they expire
+                new Index().on("expiresAt", ASC).expire(0, TimeUnit.SECONDS)));
+
+        indexes.put(SchedulerNode.class, List.of(
+                // TTL drops dead nodes; also serves the live-membership range query
+                new Index().on("expiresAt", ASC).expire(0, TimeUnit.SECONDS)));
+
+        indexes.put(SentEmail.class, List.of(
+                // TTL: claims only need to outlive the run they dedupe
+                new Index().on("expiresAt", ASC).expire(0, TimeUnit.SECONDS)));
+
+        indexes.put(RevokedToken.class, List.of(
+                // TTL: documents go once the token would have expired anyway
+                new Index().on("expiresAt", ASC).expire(0, TimeUnit.SECONDS),
+                // incremental revocation sync
+                new Index().on("revokedAt", ASC)));
+
+        return indexes;
+    }
+
+    /**
+     * Weighted text index with username as an equality prefix, so a search only
+     * touches the caller's entries. Index has no builder for prefixed text indexes.
+     */
+    private static IndexDefinition taskTextIndex() {
+        Document keys = new Document("username", 1)
+                .append("title", "text")
+                .append("description", "text")
+                .append("tags", "text")
+                .append("category", "text");
+        Document options = new Document("name", TASK_TEXT_INDEX)
+                .append("weights", new Document("title", 10)
+                        .append("tags", 5)
+                        .append("category", 3)
+                        .append("description", 1))
+                .append("default_language", "english");
+
+        return new IndexDefinition() {
+            @Override
+            public Document getIndexKeys() {
+                return keys;
+            }
+
+            @Override
+            public Document getIndexOptions() {
+                return options;
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.taskmanager.task_manager_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the indexes declared in MongoIndexCatalog.
+ *
+ * createIndex is idempotent, so this runs on every start. It runs off the startup
+ * thread and retries while the database is unreachable; an index that is rejected
+ * (e.g. conflicting options, or duplicates under a unique index) is logged and skipped
+ * so one bad definition does not block the rest.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${notifications.retention.mode:sweep}")
+    private String notificationRetentionMode = "sweep";
+
+    @Value("${notifications.retention.period:P30D}")
+    private Duration notificationRetentionPeriod = Duration.ofDays(30);
+
+    private final Set<String> settled = ConcurrentHashMap.newKeySet();
+    private volatile boolean done;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${mongo.indexes.retry-interval:60000}")
+    public void ensureIndexes() {
+        if (done) {
+            return;
+        }
+
+        try {
+            Duration readNotificationTtl = "ttl".equalsIgnoreCase(notificationRetentionMode)
+                    ? notificationRetentionPeriod
+                    : null;
+
+            int created = 0;
+            for (Map.Entry<Class<?>, List<IndexDefinition>> entry
+                    : MongoIndexCatalog.declaredIndexes(readNotificationTtl).entrySet()) {
+                String collection = mongoTemplate.getCollectionName(entry.getKey());
+                // By collection name, so keys are used exactly as declared
+                IndexOperations indexOps = mongoTemplate.indexOps(collection);
+
+                for (IndexDefinition index : entry.getValue()) {
+                    String key = collection + ":" + index.getIndexKeys().toJson();
+                    if (settled.contains(key)) {
+                        continue;
+                    }
+
+                    try {
+                        indexOps.createIndex(index);
+                        created++;
+                    } catch (DataAccessResourceFailureException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        log.error("Could not create index {} on {}: {}", index.getIndexKeys().toJson(), collection, e.getMessage());
+                    }
+                    settled.add(key);
+                }
+            }
+
+            done = true;
+            log.info("Verified {} MongoDB indexes", created);
+        } catch (Exception e) {
+            log.warn("MongoDB index creation failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+}
@@ -0,0 +1,85 @@
+package com.taskmanager.task_manager_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request stage timing for the JWT filter.
+ *
+ * Stage durations are exported as the "auth.request.stage" histogram (tag: stage)
+ * through the actuator metrics endpoint. Structured per-request debug lines go to
+ * the "request-trace" logger, which is OFF by default and routed through an async
+ * appender (see logback-spring.xml). Switch it on with the property
+ * logging.level.request-trace=DEBUG.
+ */
+@Component
+public class RequestTracer {
+
+    private static final Logger traceLog = LoggerFactory.getLogger("request-trace");
+
+    private static final String METRIC_NAME = "auth.request.stage";
+
+    private final Timer headerTimer;
+    private final Timer verifyTimer;
+    private final Timer userTimer;
+    private final Timer chainTimer;
+
+    @Value("${tracing.request.sample-rate:1.0}")
+    private double sampleRate;
+
+    public RequestTracer(MeterRegistry meterRegistry) {
+        this.headerTimer = stageTimer(meterRegistry, "header");
+        this.verifyTimer = stageTimer(meterRegistry, "verify");
+        this.userTimer = stageTimer(meterRegistry, "user");
+        this.chainTimer = stageTimer(meterRegistry, "chain");
+    }
+
+    public void recordHeader(long nanos) {
+        headerTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordVerify(long nanos) {
+        verifyTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUser(long nanos) {
+        userTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordChain(long nanos) {
+        chainTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Cheap guard for the debug line: a level check, plus one random draw when sampling.
+     */
+    public boolean shouldLog() {
+        if (!traceLog.isDebugEnabled()) {
+            return false;
+        }
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void log(HttpServletRequest request, int status, String outcome,
+                    long headerNanos, long verifyNanos, long userNanos, long chainNanos) {
+        traceLog.debug("method={} uri={} status={} auth={} headerNs={} verifyNs={} userNs={} chainNs={}",
+                request.getMethod(), request.getRequestURI(), status, outcome,
+                headerNanos, verifyNanos, userNanos, chainNanos);
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent in each stage of JWT request authentication")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
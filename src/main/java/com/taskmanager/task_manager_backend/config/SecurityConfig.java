@@ -1,5 +1,8 @@
 package com.taskmanager.task_manager_backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -34,9 +37,32 @@ public class SecurityConfig {
         this.jwtRequestFilter = jwtRequestFilter;
     }
 
+    @Value("${security.password.strength:12}")
+    private int passwordStrength;
+
+    @Value("${security.password.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${security.password.hashing.queue-capacity:0}")
+    private int hashingQueueCapacity;
+
+    @Value("${security.password.hashing.timeout:1000}")
+    private long hashingTimeoutMillis;
+
+    /**
+     * bcrypt runs on a dedicated pool so login/registration bursts cannot take every CPU.
+     * Sized to the CPU count unless configured. Request threads wait for their own hash,
+     * so the queue is kept short: excess work is rejected at once rather than parked.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(passwordStrength),
+                threads,
+                hashingQueueCapacity,
+                hashingTimeoutMillis,
+                meterRegistry);
     }
 
     @Bean
@@ -58,6 +84,8 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(authz -> authz
+                        // Async re-dispatch of streamed responses: the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Allow test endpoints (for email testing)
                         .requestMatchers("/test/**").permitAll()
                         // Allow authentication endpoints
@@ -86,7 +114,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -1,12 +1,15 @@
 package com.taskmanager.task_manager_backend.controller;
 
+import com.taskmanager.task_manager_backend.config.JwtUserPrincipal;
 import com.taskmanager.task_manager_backend.dto.LoginRequest;
 import com.taskmanager.task_manager_backend.dto.LoginResponse;
+import com.taskmanager.task_manager_backend.dto.RefreshTokenRequest;
 import com.taskmanager.task_manager_backend.dto.UserProfileDto;
 import com.taskmanager.task_manager_backend.service.AuthenticationService;
 import com.taskmanager.task_manager_backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -43,9 +46,19 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        LoginResponse response = authenticationService.refresh(refreshTokenRequest.getRefreshToken());
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, Object>> logout() {
-        // With JWT, logout is typically handled client-side by removing the token
+    public ResponseEntity<Map<String, Object>> logout(@AuthenticationPrincipal JwtUserPrincipal principal,
+                                                      @RequestBody(required = false) Map<String, String> request) {
+        // Revoke the session so its tokens stop working on every node
+        String refreshToken = request != null ? request.get("refreshToken") : null;
+        authenticationService.logout(principal != null ? principal.getClaims() : null, refreshToken);
+
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Logged out successfully");
         response.put("success", true);
@@ -54,13 +67,19 @@ public class AuthController {
     }
 
     @GetMapping("/validate")
-    public ResponseEntity<Map<String, Object>> validateToken() {
+    public ResponseEntity<Map<String, Object>> validateToken(@AuthenticationPrincipal JwtUserPrincipal principal) {
         // This endpoint can be used to check if the current token is valid
         // Spring Security will handle the validation through the JWT filter
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Token is valid");
         response.put("valid", true);
 
+        // Reuse the claims verified by the filter instead of parsing the token again
+        if (principal != null) {
+            response.put("username", principal.getUsername());
+            response.put("expiresIn", principal.getClaims().getRemainingTime());
+        }
+
         return ResponseEntity.ok(response);
     }
 }
\ No newline at end of file
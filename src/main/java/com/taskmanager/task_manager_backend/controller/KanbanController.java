@@ -1,10 +1,12 @@
 package com.taskmanager.task_manager_backend.controller;
 
 import com.taskmanager.task_manager_backend.dto.*;
+import com.taskmanager.task_manager_backend.exception.BadRequestException;
 import com.taskmanager.task_manager_backend.model.*;
 import com.taskmanager.task_manager_backend.service.KanbanService;
 import com.taskmanager.task_manager_backend.service.TaskMigrationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -43,15 +45,72 @@ public class KanbanController {
     /**
      * Get a specific board with all its tasks
      * GET /api/kanban/boards/{boardId}
+     *
+     * With limit, each column holds only its first cards plus a nextCursor:
+     * GET /api/kanban/boards/{boardId}?limit=50
+     *
+     * The ETag carries the board revision; If-None-Match with it answers 304 without
+     * reading the board.
      */
     @GetMapping("/boards/{boardId}")
     public ResponseEntity<KanbanBoardDTO> getBoard(
             @PathVariable String boardId,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication auth) {
         try {
             String username = auth.getName();
-            KanbanBoardDTO board = kanbanService.getBoardWithTasks(username, boardId);
-            return ResponseEntity.ok(board);
+            String currentETag = boardETag(kanbanService.getBoardRevision(username, boardId), limit);
+            if (matchesETag(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+
+            KanbanBoardDTO board = limit != null
+                    ? kanbanService.getBoardPage(username, boardId, limit)
+                    : kanbanService.getBoardWithTasks(username, boardId);
+            return ResponseEntity.ok()
+                    .eTag(boardETag(board.getRevision(), limit))
+                    .body(board);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    /**
+     * Cards and columns changed since a board revision (the board's revision field or ETag)
+     * GET /api/kanban/boards/{boardId}/changes?since=42
+     */
+    @GetMapping("/boards/{boardId}/changes")
+    public ResponseEntity<BoardChangesDTO> getBoardChanges(
+            @PathVariable String boardId,
+            @RequestParam long since,
+            Authentication auth) {
+        try {
+            String username = auth.getName();
+            BoardChangesDTO changes = kanbanService.getBoardChanges(username, boardId, since);
+            return ResponseEntity.ok(changes);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    /**
+     * Next cards of a column, after the nextCursor of the board or a previous page
+     * GET /api/kanban/boards/{boardId}/columns/{columnId}/tasks?cursor=...&limit=50
+     */
+    @GetMapping("/boards/{boardId}/columns/{columnId}/tasks")
+    public ResponseEntity<KanbanColumnDTO> getColumnTasks(
+            @PathVariable String boardId,
+            @PathVariable String columnId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication auth) {
+        try {
+            String username = auth.getName();
+            KanbanColumnDTO column = kanbanService.getColumnPage(username, boardId, columnId, cursor, limit);
+            return ResponseEntity.ok(column);
+        } catch (BadRequestException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
@@ -288,4 +347,26 @@ public class KanbanController {
         error.put("error", e.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
-}
\ No newline at end of file
+
+    // A paged board differs from the full one at the same revision
+    private static String boardETag(long revision, Integer limit) {
+        return "\"" + (limit != null ? revision + "-" + limit : String.valueOf(revision)) + "\"";
+    }
+
+    // If-None-Match may list several tags, weak or strong, or "*"
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,12 +2,15 @@ package com.taskmanager.task_manager_backend.controller;
 
 import com.taskmanager.task_manager_backend.model.Notification;
 import com.taskmanager.task_manager_backend.service.NotificationService;
+import com.taskmanager.task_manager_backend.service.NotificationStreamService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -21,6 +24,9 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
     @GetMapping
     public ResponseEntity<List<Notification>> getAllNotifications(
             Authentication authentication,
@@ -52,6 +58,17 @@ public class NotificationController {
         return ResponseEntity.ok(count);
     }
 
+    /**
+     * Server-Sent Events: "unread-count" on connect and whenever it changes,
+     * "notifications" with batches of new ones, "resync" when too many arrived to send
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(Authentication authentication) {
+        String username = authentication.getName();
+        log.info("User {} opened a notification stream", username);
+        return notificationStreamService.subscribe(username);
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getNotificationStats(Authentication authentication) {
         String username = authentication.getName();
@@ -118,7 +135,7 @@ public class NotificationController {
         }
 
         log.info("User {} marking {} notifications as read", username, ids.size());
-        notificationService.markMultipleAsRead(ids);
+        notificationService.markMultipleAsRead(ids, username);
 
         return ResponseEntity.ok().build();
     }
@@ -1,17 +1,27 @@
 package com.taskmanager.task_manager_backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskmanager.task_manager_backend.dto.BulkTaskResult;
+import com.taskmanager.task_manager_backend.dto.TaskPage;
+import com.taskmanager.task_manager_backend.exception.BadRequestException;
 import com.taskmanager.task_manager_backend.model.Task;
 import com.taskmanager.task_manager_backend.model.TaskPriority;
 import com.taskmanager.task_manager_backend.model.TaskStatus;
 import com.taskmanager.task_manager_backend.service.TaskService;
 import com.taskmanager.task_manager_backend.service.EmailService;
+import com.taskmanager.task_manager_backend.service.TaskExportService;
+import com.taskmanager.task_manager_backend.service.TaskSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -25,20 +35,96 @@ public class TaskController {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    /**
+     * Without paging parameters this returns the full list (legacy clients).
+     * With any of limit/cursor/sort/fields it returns a keyset-paginated TaskPage:
+     * GET /tasks?limit=50&sort=createdAt|dueDate&fields=title,status,dueDate&cursor=...
+     */
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(Authentication authentication) {
+    public ResponseEntity<?> getAllTasks(Authentication authentication,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String fields) {
         String username = authentication.getName();
+
+        if (limit != null || cursor != null || sort != null || fields != null) {
+            TaskPage page = taskService.getTasksPage(username, sort, cursor, limit, fields);
+            return ResponseEntity.ok(page);
+        }
+
         List<Task> tasks = taskService.getTasksByUsername(username);
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Stream all of the user's tasks as NDJSON (default) or CSV
+     * GET /tasks/export?format=ndjson|csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                                                             Authentication authentication) {
+        String username = authentication.getName();
+        TaskExportService.Format exportFormat = TaskExportService.Format.from(format);
+
+        StreamingResponseBody body = taskExportService.export(username, exportFormat);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Create up to 500 tasks in one request; the response has one result per item, in request order
+     * POST /tasks/bulk
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResult> createTasks(@RequestBody List<Task> tasks, Authentication authentication) {
+        String username = authentication.getName();
+        BulkTaskResult result = taskService.createTasks(tasks, username);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Replace up to 500 tasks in one request; every item must carry its id
+     * PUT /tasks/bulk
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkTaskResult> updateTasks(@RequestBody List<Task> tasks, Authentication authentication) {
+        String username = authentication.getName();
+        BulkTaskResult result = taskService.updateTasks(tasks, username);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Delete up to 500 tasks in one request
+     * DELETE /tasks/bulk with body {"ids": ["...", "..."]}
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkTaskResult> deleteTasks(@RequestBody Map<String, List<String>> request,
+                                                      Authentication authentication) {
+        String username = authentication.getName();
+        BulkTaskResult result = taskService.deleteTasks(request.get("ids"), username);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable String id, Authentication authentication) {
         String username = authentication.getName();
         Optional<Task> task = taskService.getTaskByIdAndUsername(id, username);
 
         if (task.isPresent()) {
-            return ResponseEntity.ok(task.get());
+            return ResponseEntity.ok()
+                    .eTag(String.valueOf(task.get().getVersion()))
+                    .body(task.get());
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -70,6 +156,24 @@ public class TaskController {
         return ResponseEntity.ok(updatedTask);
     }
 
+    /**
+     * Partial update with JSON merge patch semantics: only the fields sent are changed,
+     * and a null value clears the field. Send If-Match: "<version>" (or a "version"
+     * member) to fail with 409 instead of overwriting a concurrent edit.
+     * PATCH /tasks/{id}  Content-Type: application/merge-patch+json
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Task> patchTask(@PathVariable String id,
+                                          @RequestBody JsonNode patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          Authentication authentication) {
+        String username = authentication.getName();
+        Task patchedTask = taskService.patchTask(id, username, patch, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(patchedTask.getVersion()))
+                .body(patchedTask);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable String id, Authentication authentication) {
         String username = authentication.getName();
@@ -100,14 +204,42 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Relevance-ranked full-text search over title, tags, category and description.
+     * Without paging parameters this returns the top matches as a list (legacy clients).
+     * With limit/cursor/boardId it returns a TaskPage:
+     * GET /tasks/search?keyword=...&limit=20&boardId=...&cursor=...
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Task>> searchTasks(@RequestParam String keyword,
-                                                  Authentication authentication) {
+    public ResponseEntity<?> searchTasks(@RequestParam String keyword,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) String boardId,
+                                         Authentication authentication) {
         String username = authentication.getName();
+
+        if (limit != null || cursor != null || boardId != null) {
+            TaskPage page = taskSearchService.search(username, keyword, boardId, cursor, limit);
+            return ResponseEntity.ok(page);
+        }
+
         List<Task> tasks = taskService.searchTasksByKeyword(keyword, username);
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Typeahead suggestions by word prefix
+     * GET /tasks/search/suggest?prefix=rel&limit=10
+     */
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<Task>> suggestTasks(@RequestParam String prefix,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   Authentication authentication) {
+        String username = authentication.getName();
+        List<Task> suggestions = taskSearchService.suggest(username, prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     // MAIN FIX: This endpoint expects status as a query parameter
     @PatchMapping("/{id}/status")
     public ResponseEntity<Task> updateTaskStatus(@PathVariable String id,
@@ -115,21 +247,34 @@ public class TaskController {
                                                  Authentication authentication) {
         String username = authentication.getName();
 
-        // Verify the task belongs to the authenticated user
-        Optional<Task> existingTask = taskService.getTaskByIdAndUsername(id, username);
-        if (existingTask.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-
         // Validate status
         if (status == null) {
             return ResponseEntity.badRequest().build();
         }
 
-        Task updatedTask = taskService.updateTaskStatus(id, status);
+        // Ownership is part of the update filter; a missing or foreign task is a 404
+        Task updatedTask = taskService.updateTaskStatus(id, username, status);
         return ResponseEntity.ok(updatedTask);
     }
 
+    // If-Match carries the task version as an entity tag; "*" means no precondition
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match must be a task version");
+        }
+    }
+
     @GetMapping("/test/send-email")
     public ResponseEntity<String> testEmail(@RequestParam String email) {
         emailService.sendSimpleEmail(email, "Test Email", "This is a test email from Task Manager!");
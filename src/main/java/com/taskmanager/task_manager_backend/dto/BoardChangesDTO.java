@@ -0,0 +1,80 @@
+package com.taskmanager.task_manager_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What changed on a board after a given revision.
+ * Cards are sent whole with their column and rank; removedTaskIds left the board.
+ * When resync is set the changes are no longer known and the board must be fetched again.
+ */
+public class BoardChangesDTO {
+
+    private String boardId;
+    private long revision;
+    private boolean resync;
+    // Only when columns or settings changed; columns carry no tasks
+    private List<KanbanColumnDTO> columns;
+    private BoardSettingsDTO settings;
+    private List<TaskDTO> tasks = new ArrayList<>();
+    private List<String> removedTaskIds = new ArrayList<>();
+
+    public BoardChangesDTO() {}
+
+    // Getters and Setters
+    public String getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(String boardId) {
+        this.boardId = boardId;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public boolean isResync() {
+        return resync;
+    }
+
+    public void setResync(boolean resync) {
+        this.resync = resync;
+    }
+
+    public List<KanbanColumnDTO> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<KanbanColumnDTO> columns) {
+        this.columns = columns;
+    }
+
+    public BoardSettingsDTO getSettings() {
+        return settings;
+    }
+
+    public void setSettings(BoardSettingsDTO settings) {
+        this.settings = settings;
+    }
+
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<String> getRemovedTaskIds() {
+        return removedTaskIds;
+    }
+
+    public void setRemovedTaskIds(List<String> removedTaskIds) {
+        this.removedTaskIds = removedTaskIds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskmanager.task_manager_backend.dto;
+
+import java.util.List;
+
+public class BulkTaskResult {
+
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> results;
+
+    public BulkTaskResult() {}
+
+    public BulkTaskResult(List<BulkItemResult> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream().filter(BulkItemResult::isSucceeded).count();
+        this.failed = results.size() - this.succeeded;
+    }
+
+    // Getters and Setters
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskmanager.task_manager_backend.dto;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Immutable, typed view of a verified JWT.
+ * Produced once per token by AuthenticationService and shared by the
+ * request filter and controllers so the token is never parsed twice.
+ */
+public final class JwtClaims {
+
+    private final String tokenId;
+    private final String username;
+    private final String userId;
+    private final String email;
+    private final String tokenType;
+    private final String familyId;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    public JwtClaims(String tokenId, String username, String userId, String email, String tokenType,
+                     String familyId, Date issuedAt, Date expiration) {
+        this.tokenId = tokenId;
+        this.username = username;
+        this.userId = userId;
+        this.email = email;
+        this.tokenType = tokenType;
+        this.familyId = familyId;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+    }
+
+    public static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("email", String.class),
+                claims.get("tokenType", String.class),
+                claims.get("family", String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
+    }
+
+    /**
+     * The jti claim; null for tokens issued before revocation support
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    /**
+     * Login session shared by all access/refresh tokens minted from one sign-in
+     */
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(tokenType);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    public long getRemainingTime() {
+        return expiration != null ? expiration.getTime() - System.currentTimeMillis() : 0L;
+    }
+}
@@ -9,6 +9,8 @@ public class KanbanBoardDTO {
     private String name;
     private List<KanbanColumnDTO> columns;
     private BoardSettingsDTO settings;
+    // Board version this snapshot is at least as new as; pass it to /changes?since=
+    private long revision;
 
     public KanbanBoardDTO() {}
 
@@ -44,4 +46,12 @@ public class KanbanBoardDTO {
     public void setSettings(BoardSettingsDTO settings) {
         this.settings = settings;
     }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
 }
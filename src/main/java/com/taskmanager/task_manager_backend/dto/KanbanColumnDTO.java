@@ -11,6 +11,9 @@ public class KanbanColumnDTO {
     private Integer wipLimit;
     private String color;
     private List<TaskDTO> tasks;
+    // Set when the column was read a page at a time and has more cards
+    private String nextCursor;
+    private boolean hasMore;
 
     public KanbanColumnDTO() {}
 
@@ -62,4 +65,20 @@ public class KanbanColumnDTO {
     public void setTasks(List<TaskDTO> tasks) {
         this.tasks = tasks;
     }
-}
\ No newline at end of file
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
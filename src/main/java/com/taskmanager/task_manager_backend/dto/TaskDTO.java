@@ -15,6 +15,8 @@ public class TaskDTO {
     private List<String> tags;
     private String columnId;
     private String category;
+    // Order within the column (compare as text), for placing cards received as changes
+    private String rank;
 
     public TaskDTO() {}
 
@@ -90,4 +92,12 @@ public class TaskDTO {
     public void setCategory(String category) {
         this.category = category;
     }
-}
\ No newline at end of file
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+}
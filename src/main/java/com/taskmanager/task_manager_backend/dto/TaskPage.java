@@ -0,0 +1,59 @@
+package com.taskmanager.task_manager_backend.dto;
+
+import com.taskmanager.task_manager_backend.model.Task;
+
+import java.util.List;
+
+/**
+ * One keyset-paginated page of tasks.
+ * Pass nextCursor back as ?cursor= to fetch the following page; it is null on the last page.
+ */
+public class TaskPage {
+
+    private List<Task> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+
+    public TaskPage() {}
+
+    public TaskPage(List<Task> items, String nextCursor, boolean hasMore, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+
+    // Getters and Setters
+    public List<Task> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Task> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
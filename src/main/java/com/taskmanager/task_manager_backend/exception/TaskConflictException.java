@@ -0,0 +1,10 @@
+package com.taskmanager.task_manager_backend.exception;
+
+/**
+ * A conditional task update whose expected version no longer matches (409)
+ */
+public class TaskConflictException extends RuntimeException {
+    public TaskConflictException(String message) {
+        super(message);
+    }
+}
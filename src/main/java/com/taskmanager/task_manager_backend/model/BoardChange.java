@@ -0,0 +1,32 @@
+package com.taskmanager.task_manager_backend.model;
+
+/**
+ * One entry of a board's change log: the card that changed at a revision,
+ * or no card when the board itself (columns, settings) changed
+ */
+public class BoardChange {
+
+    private long revision;
+
+    private String taskId;
+
+    public BoardChange() {
+    }
+
+    // Getters and Setters
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskmanager.task_manager_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Kanban board's version, one per (username, boardId): bumped by every column or
+ * card change, together with a capped log of what changed.
+ *
+ * Keyed by owner as well as board, so a write naming someone else's board id only
+ * ever creates a revision of its own that the board's owner never reads.
+ * Kept apart from KanbanBoard so saving a board can never write back a stale
+ * revision. A board without one is at revision 0.
+ */
+@Document(collection = "board_revisions")
+public class BoardRevision {
+
+    @Id
+    private String id;
+
+    private String boardId;
+
+    private String username;
+
+    private long revision;
+
+    /**
+     * The log holds every change after this revision; older ones were dropped
+     * (or were bulk changes that are not logged card by card)
+     */
+    private long changesFrom;
+
+    private List<BoardChange> changes = new ArrayList<>();
+
+    public BoardRevision() {
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(String boardId) {
+        this.boardId = boardId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public long getChangesFrom() {
+        return changesFrom;
+    }
+
+    public void setChangesFrom(long changesFrom) {
+        this.changesFrom = changesFrom;
+    }
+
+    public List<BoardChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<BoardChange> changes) {
+        this.changes = changes;
+    }
+}
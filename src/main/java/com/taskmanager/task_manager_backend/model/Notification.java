@@ -1,5 +1,6 @@
 package com.taskmanager.task_manager_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
@@ -22,6 +23,9 @@ public class Notification {
     private LocalDateTime readAt;
     private String actionUrl;
     private Map<String, Object> metadata;
+    // Set on generated notifications (task, type, time bucket); unique, so a re-run can't duplicate them
+    @JsonIgnore
+    private String dedupeKey;
 
     // Constructors
     public Notification() {
@@ -134,4 +138,12 @@ public class Notification {
     public void setMetadata(Map<String, Object> metadata) {
         this.metadata = metadata;
     }
+
+    public String getDedupeKey() {
+        return dedupeKey;
+    }
+
+    public void setDedupeKey(String dedupeKey) {
+        this.dedupeKey = dedupeKey;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.taskmanager.task_manager_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's unread notification count, keyed by username.
+ * Adjusted with $inc on every create, read and delete; the document expires (TTL on
+ * expiresAt) and is recounted on the next read, which bounds any drift.
+ */
+@Document(collection = "notification_counters")
+public class NotificationCounter {
+
+    @Id
+    private String username;
+
+    private long unread;
+
+    private LocalDateTime refreshedAt;
+
+    private LocalDateTime expiresAt;
+
+    public NotificationCounter() {
+    }
+
+    public NotificationCounter(String username, long unread, LocalDateTime refreshedAt, LocalDateTime expiresAt) {
+        this.username = username;
+        this.unread = unread;
+        this.refreshedAt = refreshedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public long getUnread() {
+        return unread;
+    }
+
+    public void setUnread(long unread) {
+        this.unread = unread;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
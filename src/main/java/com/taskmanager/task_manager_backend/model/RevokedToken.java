@@ -0,0 +1,80 @@
+package com.taskmanager.task_manager_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked JWT, identified by its jti.
+ * Documents are removed by a TTL index on expiresAt once the token would have expired anyway.
+ */
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private String id;
+
+    private String username;
+
+    /**
+     * Why the id was revoked: "logout", "rotated" (refresh token already exchanged) or "family" (session killed)
+     */
+    private String reason;
+
+    private LocalDateTime revokedAt;
+
+    private LocalDateTime expiresAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String id, String username, String reason, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.username = username;
+        this.reason = reason;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskmanager.task_manager_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A named lease that lets one instance run a scheduled job, keyed by job name.
+ * The token goes up by one every time the lease changes hands, so it works as a
+ * fencing token: a holder that was paused past expiresAt can tell it was superseded.
+ */
+@Document(collection = "scheduler_leases")
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    private long token;
+
+    private LocalDateTime acquiredAt;
+
+    private LocalDateTime expiresAt;
+
+    public SchedulerLease() {
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public long getToken() {
+        return token;
+    }
+
+    public void setToken(long token) {
+        this.token = token;
+    }
+
+    public LocalDateTime getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public void setAcquiredAt(LocalDateTime acquiredAt) {
+        this.acquiredAt = acquiredAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.task_manager_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A running instance, kept alive by its scheduler heartbeat.
+ * Live nodes split partitioned work between them; a node that stops heart-beating
+ * drops out once expiresAt passes and the TTL index removes it.
+ */
+@Document(collection = "scheduler_nodes")
+public class SchedulerNode {
+
+    @Id
+    private String id;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime heartbeatAt;
+
+    private LocalDateTime expiresAt;
+
+    public SchedulerNode() {
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
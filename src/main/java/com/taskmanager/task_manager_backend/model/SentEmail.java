@@ -0,0 +1,56 @@
+package com.taskmanager.task_manager_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reminder email claimed by one run of an email job, keyed by job, task and run.
+ * Inserted before the email goes out, so two nodes that both think they own a user
+ * (while their views of the live nodes differ) send it once. Removed by a TTL index.
+ */
+@Document(collection = "sent_emails")
+public class SentEmail {
+
+    @Id
+    private String id;
+
+    private LocalDateTime sentAt;
+
+    private LocalDateTime expiresAt;
+
+    public SentEmail() {
+    }
+
+    public SentEmail(String id, LocalDateTime sentAt, LocalDateTime expiresAt) {
+        this.id = id;
+        this.sentAt = sentAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
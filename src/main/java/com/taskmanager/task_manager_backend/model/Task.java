@@ -1,12 +1,18 @@
 package com.taskmanager.task_manager_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "tasks")
@@ -62,6 +68,46 @@ public class Task {
      */
     private Integer positionInColumn;
 
+    /**
+     * Order of this task within its column: a CardRank string, compared as text.
+     * Replaces positionInColumn, which is only read for tasks not yet ranked.
+     * Server-owned: assigned by card moves and task writes, never read from a request.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String rank;
+
+    /**
+     * Optimistic-locking version, incremented on every write.
+     * Clients may echo it back (body or If-Match) to make an update conditional.
+     */
+    @Version
+    private Long version;
+
+    // ====================================
+    // SEARCH FIELDS
+    // ====================================
+
+    /**
+     * Lower-cased words of title, tags and category, kept in sync on every save.
+     * Backs prefix (typeahead) lookups through the (username, searchTerms) index.
+     */
+    @JsonIgnore
+    private List<String> searchTerms;
+
+    /**
+     * Text-search relevance, only populated on search results
+     */
+    @TextScore
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float score;
+
+    /**
+     * Events of recent writes not yet handled by TaskEventDispatcher,
+     * written in the same operation as the change they describe
+     */
+    @JsonIgnore
+    private List<TaskEvent> outbox;
+
     // Default constructor
     public Task() {
     }
@@ -193,6 +239,59 @@ public class Task {
         this.positionInColumn = positionInColumn;
     }
 
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public List<String> getSearchTerms() {
+        return searchTerms;
+    }
+
+    public void setSearchTerms(List<String> searchTerms) {
+        this.searchTerms = searchTerms;
+    }
+
+    public Float getScore() {
+        return score;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
+    public List<TaskEvent> getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(List<TaskEvent> outbox) {
+        this.outbox = outbox;
+    }
+
+    /**
+     * Queue an event to be written along with this task
+     */
+    public void addEvent(TaskEvent event) {
+        if (event == null) {
+            return;
+        }
+        if (outbox == null) {
+            outbox = new ArrayList<>();
+        }
+        outbox.add(event);
+    }
+
     // ====================================
     // UTILITY METHODS
     // ====================================
@@ -211,6 +310,7 @@ public class Task {
         this.boardId = null;
         this.columnId = null;
         this.positionInColumn = null;
+        this.rank = null;
     }
 
     /**
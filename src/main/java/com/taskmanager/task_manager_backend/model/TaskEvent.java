@@ -0,0 +1,162 @@
+package com.taskmanager.task_manager_backend.model;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Something that happened to a task, waiting for TaskEventDispatcher.
+ *
+ * Events are kept in the task's own outbox array, written by the same operation as
+ * the change itself, so a write and its event are never applied without each other.
+ * A deleted task has no document left to carry its event; deletions are stored in
+ * the task_events collection instead, under the task's id, and written before the
+ * task is removed. Until the task is gone the event only records an intent, which
+ * TaskEventDispatcher holds back.
+ *
+ * Carries what consumers need from the task at the time of the change, so it can be
+ * handled without reading the task back.
+ */
+@Document(collection = "task_events")
+public class TaskEvent {
+
+    @Id
+    private String id;
+
+    private TaskEventType type;
+
+    private String taskId;
+
+    private String username;
+
+    private String title;
+
+    private TaskPriority priority;
+
+    private TaskStatus status;
+
+    private TaskStatus previousStatus;
+
+    private LocalDateTime dueDate;
+
+    private LocalDateTime occurredAt;
+
+    public TaskEvent() {
+    }
+
+    public TaskEvent(TaskEventType type, Task task, TaskStatus previousStatus) {
+        this.id = new ObjectId().toHexString();
+        this.type = type;
+        this.taskId = task.getId();
+        this.username = task.getUsername();
+        this.title = task.getTitle();
+        this.priority = task.getPriority();
+        this.status = task.getStatus();
+        this.previousStatus = previousStatus;
+        this.dueDate = task.getDueDate();
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    /**
+     * Event for a status write: COMPLETED when the task has just been completed, otherwise
+     * null, as no handler consumes other status changes
+     */
+    public static TaskEvent statusChange(Task task, TaskStatus previousStatus) {
+        if (task.getStatus() != TaskStatus.COMPLETED || previousStatus == TaskStatus.COMPLETED) {
+            return null;
+        }
+        return new TaskEvent(TaskEventType.COMPLETED, task, previousStatus);
+    }
+
+    /**
+     * Deletion event for a task, keyed by the task's id so writing it again replaces it
+     */
+    public static TaskEvent deletion(Task task) {
+        TaskEvent event = new TaskEvent(TaskEventType.DELETED, task, null);
+        event.setId(task.getId());
+        return event;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public TaskEventType getType() {
+        return type;
+    }
+
+    public void setType(TaskEventType type) {
+        this.type = type;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(TaskStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
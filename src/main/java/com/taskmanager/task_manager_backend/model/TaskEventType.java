@@ -0,0 +1,9 @@
+package com.taskmanager.task_manager_backend.model;
+
+public enum TaskEventType {
+    CREATED,
+    // No longer written; kept so events queued before that still read
+    STATUS_CHANGED,
+    COMPLETED,
+    DELETED
+}
@@ -0,0 +1,108 @@
+package com.taskmanager.task_manager_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user task counters, keyed by username.
+ * Maintained with $inc on every task write; the document expires (TTL on expiresAt)
+ * and is rebuilt from an aggregation on the next read, which bounds any drift.
+ * Overdue depends on the clock, so it is never stored.
+ */
+@Document(collection = "user_task_stats")
+public class UserTaskStats {
+
+    @Id
+    private String username;
+
+    private long total;
+    private long todo;
+    private long inProgress;
+    private long completed;
+    private long highPriority;
+
+    @Transient
+    private long overdue;
+
+    private LocalDateTime refreshedAt;
+    private LocalDateTime expiresAt;
+
+    public UserTaskStats() {
+    }
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getTodo() {
+        return todo;
+    }
+
+    public void setTodo(long todo) {
+        this.todo = todo;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public void setInProgress(long inProgress) {
+        this.inProgress = inProgress;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getHighPriority() {
+        return highPriority;
+    }
+
+    public void setHighPriority(long highPriority) {
+        this.highPriority = highPriority;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -5,7 +5,6 @@ import com.taskmanager.task_manager_backend.model.NotificationType;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -23,8 +22,4 @@ public interface NotificationRepository extends MongoRepository<Notification, St
     long countByUsernameAndReadFalse(String username);
 
     void deleteByUsernameAndReadTrue(String username);
-
-    void deleteByTaskId(String taskId);
-
-    List<Notification> findByCreatedAtBefore(LocalDateTime date);
 }
\ No newline at end of file
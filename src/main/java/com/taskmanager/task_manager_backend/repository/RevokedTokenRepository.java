@@ -0,0 +1,17 @@
+package com.taskmanager.task_manager_backend.repository;
+
+import com.taskmanager.task_manager_backend.model.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+
+    /**
+     * Revocations recorded after a watermark, oldest first (incremental sync between nodes)
+     */
+    List<RevokedToken> findByRevokedAtAfterOrderByRevokedAtAsc(LocalDateTime revokedAt);
+}
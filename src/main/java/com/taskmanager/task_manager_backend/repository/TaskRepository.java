@@ -52,6 +52,12 @@ public interface TaskRepository extends MongoRepository<Task, String> {
      */
     List<Task> findByUsernameAndBoardIdOrderByPositionInColumnAsc(String username, String boardId);
 
+    /**
+     * Find all tasks for a user on a specific board
+     * Ordered by column, then rank within the column
+     */
+    List<Task> findByUsernameAndBoardIdOrderByColumnIdAscRankAsc(String username, String boardId);
+
     /**
      * Find all tasks in a specific column
      * Ordered by position
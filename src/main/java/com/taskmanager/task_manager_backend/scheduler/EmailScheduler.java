@@ -1,28 +1,53 @@
 package com.taskmanager.task_manager_backend.scheduler;
 
+import com.taskmanager.task_manager_backend.model.SentEmail;
 import com.taskmanager.task_manager_backend.model.Task;
 import com.taskmanager.task_manager_backend.model.TaskStatus;
 import com.taskmanager.task_manager_backend.model.User;
-import com.taskmanager.task_manager_backend.repository.TaskRepository;
 import com.taskmanager.task_manager_backend.repository.UserRepository;
 import com.taskmanager.task_manager_backend.service.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Reminder emails. Each job runs on the holder of its lease, or on every node for
+ * its own share of users when scheduling is partitioned (see SchedulerCoordinator).
+ *
+ * Each email is claimed (a SentEmail keyed by job, task and run) before it is sent,
+ * so nodes that briefly both own a user, or a stalled lease holder and its
+ * successor, send it once. A node dying between claim and send loses that email.
+ */
 @Component
 public class EmailScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(EmailScheduler.class);
 
+    private static final String DAILY_LEASE = "email-daily-reminders";
+    private static final String OVERDUE_LEASE = "email-overdue-reminders";
+
+    // How many emails go out between checks that the lease is still ours
+    private static final int FENCE_CHECK_EVERY = 50;
+    // Long enough to cover any run the claim dedupes
+    private static final Duration CLAIM_TTL = Duration.ofDays(2);
+
     @Autowired
-    private TaskRepository taskRepository;
+    private MongoTemplate mongoTemplate;
 
     @Autowired
     private UserRepository userRepository;
@@ -30,52 +55,31 @@ public class EmailScheduler {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private SchedulerCoordinator schedulerCoordinator;
+
     // Run every day at 9 AM
     @Scheduled(cron = "0 0 9 * * ?")
     public void sendDailyTaskReminders() {
+        if (!schedulerCoordinator.shouldRun(DAILY_LEASE)) {
+            log.debug("Skipping daily task reminders, another node runs them");
+            return;
+        }
+
         log.info("Starting daily task reminder email job");
 
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime tomorrow = now.plusDays(1);
         LocalDateTime dayAfterTomorrow = now.plusDays(2);
 
-        // Get all tasks
-        List<Task> allTasks = taskRepository.findAll();
-
-        int emailsSent = 0;
-
-        for (Task task : allTasks) {
-            // Skip completed tasks or tasks without due dates
-            if (task.getStatus() == TaskStatus.COMPLETED || task.getDueDate() == null) {
-                continue;
+        int emailsSent = forEachOpenTaskDueBefore(dayAfterTomorrow, DAILY_LEASE, (email, task) -> {
+            if (task.getDueDate().isAfter(now)) {
+                emailService.sendTaskDueReminderEmail(email, task);
+                log.info("Sent task reminder email to {} for task: {}", email, task.getTitle());
+            } else {
+                emailService.sendTaskOverdueEmail(email, task);
+                log.info("Sent overdue task email to {} for task: {}", email, task.getTitle());
             }
-
-            LocalDateTime dueDate = task.getDueDate();
-
-            // Check if task is due tomorrow
-            if (dueDate.isAfter(now) && dueDate.isBefore(dayAfterTomorrow)) {
-                Optional<User> userOpt = userRepository.findByUsername(task.getUsername());
-
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    emailService.sendTaskDueReminderEmail(user.getEmail(), task);
-                    emailsSent++;
-                    log.info("Sent task reminder email to {} for task: {}", user.getEmail(), task.getTitle());
-                }
-            }
-
-            // Optional: Send overdue task emails
-            if (dueDate.isBefore(now)) {
-                Optional<User> userOpt = userRepository.findByUsername(task.getUsername());
-
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    emailService.sendTaskOverdueEmail(user.getEmail(), task);
-                    emailsSent++;
-                    log.info("Sent overdue task email to {} for task: {}", user.getEmail(), task.getTitle());
-                }
-            }
-        }
+        });
 
         log.info("Daily task reminder email job completed. Sent {} emails", emailsSent);
     }
@@ -83,28 +87,70 @@ public class EmailScheduler {
     // Optional: Run every hour to check for overdue tasks
     @Scheduled(cron = "0 0 * * * ?")
     public void sendOverdueTaskReminders() {
+        if (!schedulerCoordinator.shouldRun(OVERDUE_LEASE)) {
+            log.debug("Skipping overdue task check, another node runs it");
+            return;
+        }
+
         log.info("Checking for overdue tasks");
 
-        LocalDateTime now = LocalDateTime.now();
-        List<Task> allTasks = taskRepository.findAll();
+        int emailsSent = forEachOpenTaskDueBefore(LocalDateTime.now(), OVERDUE_LEASE,
+                emailService::sendTaskOverdueEmail);
+
+        log.info("Overdue task check completed. Sent {} emails", emailsSent);
+    }
 
-        int emailsSent = 0;
+    /**
+     * Stream the open tasks due before the cutoff (a range on the dueDate index) and
+     * pass each one this node is responsible for to send, with the owner's email
+     * looked up once per user. Stops early if the lease was taken over mid-run.
+     */
+    private int forEachOpenTaskDueBefore(LocalDateTime cutoff, String lease, BiConsumer<String, Task> send) {
+        long token = schedulerCoordinator.fencingToken(lease);
+        // Runs are at most hourly, so the hour names the run on every node
+        LocalDateTime run = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        Query query = new Query(Criteria.where("dueDate").lt(cutoff).and("status").ne(TaskStatus.COMPLETED));
+        Map<String, Optional<String>> emails = new HashMap<>();
+
+        int sent = 0;
+        try (Stream<Task> tasks = mongoTemplate.stream(query, Task.class)) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                if (!schedulerCoordinator.ownsUsername(task.getUsername())) {
+                    continue;
+                }
 
-        for (Task task : allTasks) {
-            if (task.getStatus() != TaskStatus.COMPLETED &&
-                    task.getDueDate() != null &&
-                    task.getDueDate().isBefore(now)) {
+                Optional<String> email = emails.computeIfAbsent(task.getUsername(),
+                        username -> userRepository.findByUsername(username).map(User::getEmail));
+                if (email.isEmpty()) {
+                    continue;
+                }
 
-                Optional<User> userOpt = userRepository.findByUsername(task.getUsername());
+                if (token >= 0 && sent % FENCE_CHECK_EVERY == 0 && !schedulerCoordinator.isCurrent(lease, token)) {
+                    log.warn("Lost scheduler lease '{}' after {} emails, stopping", lease, sent);
+                    break;
+                }
 
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    emailService.sendTaskOverdueEmail(user.getEmail(), task);
-                    emailsSent++;
+                if (!claim(lease + ":" + task.getId() + ":" + run)) {
+                    continue;
                 }
+
+                send.accept(email.get(), task);
+                sent++;
             }
         }
+        return sent;
+    }
 
-        log.info("Overdue task check completed. Sent {} emails", emailsSent);
+    /**
+     * True if this node is the first to claim the email; the _id makes the insert the arbiter
+     */
+    private boolean claim(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            mongoTemplate.insert(new SentEmail(key, now, now.plus(CLAIM_TTL)));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,276 @@
+package com.taskmanager.task_manager_backend.scheduler;
+
+import com.mongodb.client.result.UpdateResult;
+import com.taskmanager.task_manager_backend.model.SchedulerLease;
+import com.taskmanager.task_manager_backend.model.SchedulerNode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which instance runs which scheduled work.
+ *
+ * Leader mode: a job calls tryAcquire with its lease name and only runs while it
+ * holds the lease. Leases live in Mongo, are renewed by the heartbeat and carry a
+ * fencing token that increases on every change of owner; isCurrent re-checks it
+ * before side effects that must not happen twice.
+ *
+ * Partitioned mode (scheduler.partitioning.enabled): every live node runs the job
+ * for the usernames that hash to its slot among the live nodes, so the work is
+ * split instead of repeated. Membership comes from the same heartbeat, and each
+ * node acts on its own last read of it: see ownsUsername for what that allows.
+ *
+ * Lease expiry is computed on each node's clock, so clocks should agree to well
+ * within the lease TTL.
+ */
+@Component
+public class SchedulerCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulerCoordinator.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${scheduler.lease.ttl:PT30S}")
+    private Duration leaseTtl = Duration.ofSeconds(30);
+
+    @Value("${scheduler.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+
+    private final String nodeId = createNodeId();
+    private final Map<String, SchedulerLease> held = new ConcurrentHashMap<>();
+    private volatile List<String> liveNodes = List.of();
+    private volatile long membershipVersion;
+    private volatile boolean registered;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * True while this node holds the named lease, acquiring it if it is free or expired
+     */
+    public boolean tryAcquire(String name) {
+        SchedulerLease lease = held.get(name);
+        if (lease != null && LocalDateTime.now().isBefore(lease.getExpiresAt())) {
+            return true;
+        }
+        held.remove(name);
+        return acquire(name);
+    }
+
+    /**
+     * Fencing token of a lease this node holds, or -1
+     */
+    public long fencingToken(String name) {
+        SchedulerLease lease = held.get(name);
+        if (lease == null || !LocalDateTime.now().isBefore(lease.getExpiresAt())) {
+            return -1;
+        }
+        return lease.getToken();
+    }
+
+    /**
+     * Reads the stored lease back: true only while this node still holds it under
+     * the same token. A holder that stalled past expiry learns here that it was replaced.
+     */
+    public boolean isCurrent(String name, long token) {
+        Query query = new Query(Criteria.where("name").is(name)
+                .and("owner").is(nodeId)
+                .and("token").is(token)
+                .and("expiresAt").gt(LocalDateTime.now()));
+        return mongoTemplate.exists(query, SchedulerLease.class);
+    }
+
+    /**
+     * Whether a job should run here now: in partitioned mode once this node has a
+     * slot, otherwise only on the holder of the named lease
+     */
+    public boolean shouldRun(String name) {
+        if (partitioningEnabled) {
+            return liveNodes.contains(nodeId);
+        }
+        return tryAcquire(name);
+    }
+
+    /**
+     * Whether this node handles the user's share of partitioned work.
+     * Always true when partitioning is off (the lease already picked one node).
+     *
+     * There is no lease per slot. After a node joins or leaves, nodes disagree about
+     * the live set until each has refreshed it, for up to one heartbeat interval
+     * (and until its entry expires, one lease TTL, when a node dies): meanwhile a
+     * user can be owned by two nodes or by none. Partitioned jobs tolerate both.
+     * Duplicates are deduped where they land: due notifications by their upsert key,
+     * reminder emails by their claim in EmailScheduler. A miss is made up by the next
+     * run (TaskDueTimer catches up on missed due dates, overdue emails are hourly),
+     * except a daily reminder falling in the window, which is skipped for that day.
+     */
+    public boolean ownsUsername(String username) {
+        if (!partitioningEnabled) {
+            return true;
+        }
+        List<String> nodes = liveNodes;
+        int slot = nodes.indexOf(nodeId);
+        return slot >= 0 && Math.floorMod(username.hashCode(), nodes.size()) == slot;
+    }
+
+    /**
+     * Changes whenever the set of live nodes does, so partitioned state can be rebuilt
+     */
+    public long getMembershipVersion() {
+        return membershipVersion;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${scheduler.heartbeat-interval:10000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+
+        try {
+            mongoTemplate.upsert(
+                    new Query(Criteria.where("id").is(nodeId)),
+                    new Update()
+                            .set("heartbeatAt", now)
+                            .set("expiresAt", now.plus(leaseTtl))
+                            .setOnInsert("startedAt", now),
+                    SchedulerNode.class);
+            registered = true;
+
+            for (String name : held.keySet()) {
+                renew(name, now);
+            }
+
+            if (partitioningEnabled) {
+                refreshMembership(now);
+            }
+        } catch (Exception e) {
+            log.warn("Scheduler heartbeat failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hand leases back and leave the membership on shutdown, so the others take over
+     * straight away instead of waiting out the TTL
+     */
+    @PreDestroy
+    public void release() {
+        // Never reached the database: nothing to hand back, and no point waiting on it
+        if (!registered && held.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            for (SchedulerLease lease : held.values()) {
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("name").is(lease.getName())
+                                .and("owner").is(nodeId)
+                                .and("token").is(lease.getToken())),
+                        new Update().set("expiresAt", now),
+                        SchedulerLease.class);
+            }
+            held.clear();
+            mongoTemplate.remove(new Query(Criteria.where("id").is(nodeId)), SchedulerNode.class);
+        } catch (Exception e) {
+            log.warn("Could not release scheduler leases: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Take an expired (or never created) lease in one findAndModify. When the lease
+     * is live the upsert collides with the existing _id and nothing changes.
+     */
+    private boolean acquire(String name) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("name").is(name).and("expiresAt").lte(now));
+        Update update = new Update()
+                .set("owner", nodeId)
+                .set("acquiredAt", now)
+                .set("expiresAt", now.plus(leaseTtl))
+                .inc("token", 1);
+
+        try {
+            SchedulerLease lease = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLease.class);
+            if (lease == null) {
+                return false;
+            }
+            held.put(name, lease);
+            log.info("Node {} acquired scheduler lease '{}' with token {}", nodeId, name, lease.getToken());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        } catch (DataAccessException e) {
+            log.warn("Could not acquire scheduler lease '{}': {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private void renew(String name, LocalDateTime now) {
+        SchedulerLease lease = held.get(name);
+        if (lease == null) {
+            return;
+        }
+
+        LocalDateTime expiresAt = now.plus(leaseTtl);
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("name").is(name)
+                        .and("owner").is(nodeId)
+                        .and("token").is(lease.getToken())),
+                new Update().set("expiresAt", expiresAt),
+                SchedulerLease.class);
+
+        if (result.getMatchedCount() == 0) {
+            held.remove(name);
+            log.warn("Node {} lost scheduler lease '{}' (token {})", nodeId, name, lease.getToken());
+        } else {
+            lease.setExpiresAt(expiresAt);
+        }
+    }
+
+    private void refreshMembership(LocalDateTime now) {
+        Query query = new Query(Criteria.where("expiresAt").gt(now)).with(Sort.by("id"));
+        query.fields().include("id");
+        List<String> nodes = mongoTemplate.find(query, SchedulerNode.class).stream()
+                .map(SchedulerNode::getId)
+                .toList();
+
+        if (!nodes.equals(liveNodes)) {
+            liveNodes = nodes;
+            membershipVersion++;
+            log.info("Scheduler membership changed: {} live nodes, this node has slot {}",
+                    nodes.size(), nodes.indexOf(nodeId));
+        }
+    }
+
+    private static String createNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
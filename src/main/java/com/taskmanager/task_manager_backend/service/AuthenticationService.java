@@ -1,14 +1,19 @@
 // src/main/java/com/taskmanager/task_manager_backend/service/AuthenticationService.java
 package com.taskmanager.task_manager_backend.service;
 
+import com.taskmanager.task_manager_backend.dto.JwtClaims;
 import com.taskmanager.task_manager_backend.dto.LoginRequest;
 import com.taskmanager.task_manager_backend.dto.LoginResponse;
 import com.taskmanager.task_manager_backend.dto.UserProfileDto;
+import com.taskmanager.task_manager_backend.exception.InvalidTokenException;
 import com.taskmanager.task_manager_backend.model.User;
 import com.taskmanager.task_manager_backend.repository.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,9 +24,12 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -39,8 +47,31 @@ public class AuthenticationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Value("${jwt.verified-cache.size:10000}")
+    private int verifiedCacheSize;
+
+    // Built once: the key and parser are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    void initSigningKey() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheSize);
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 
     public LoginResponse authenticate(LoginRequest loginRequest) {
@@ -57,8 +88,10 @@ public class AuthenticationService {
                     loginRequest.getUsernameOrEmail()
             ).orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
 
-            String token = generateToken(user);
-            String refreshToken = generateRefreshToken(user);
+            // Every login starts a new token family (session) for refresh rotation
+            String familyId = UUID.randomUUID().toString();
+            String token = generateToken(user, familyId);
+            String refreshToken = generateRefreshToken(user, familyId);
 
             UserProfileDto userProfileDto = new UserProfileDto(user);
 
@@ -69,12 +102,96 @@ public class AuthenticationService {
         }
     }
 
+    /**
+     * Exchange a refresh token for a new access/refresh pair without re-checking the password.
+     * The presented refresh token is consumed (rotation); presenting an already consumed
+     * token again is treated as theft and revokes the whole token family.
+     */
+    public LoginResponse refresh(String refreshToken) {
+        JwtClaims claims;
+        try {
+            claims = verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Refresh token is invalid or expired");
+        }
+
+        if (!claims.isRefreshToken()) {
+            throw new InvalidTokenException("Token is not a refresh token");
+        }
+
+        if (tokenRevocationService.isRevoked(claims.getFamilyId())) {
+            throw new InvalidTokenException("Session has been revoked, please log in again");
+        }
+
+        if (!tokenRevocationService.consume(claims)) {
+            tokenRevocationService.revokeFamily(claims.getFamilyId(), claims.getUsername(),
+                    LocalDateTime.now().plus(jwtExpiration * 7, ChronoUnit.MILLIS));
+            throw new InvalidTokenException("Refresh token has already been used, please log in again");
+        }
+
+        if (!userStatusCache.isActive(claims.getUsername())) {
+            throw new InvalidTokenException("Account is disabled or no longer exists");
+        }
+
+        User user = userRepository.findByUsername(claims.getUsername())
+                .orElseThrow(() -> new InvalidTokenException("Account is disabled or no longer exists"));
+
+        // Sessions from before rotation support have no family yet: start one now
+        String familyId = claims.getFamilyId() != null ? claims.getFamilyId() : UUID.randomUUID().toString();
+
+        String token = generateToken(user, familyId);
+        String newRefreshToken = generateRefreshToken(user, familyId);
+
+        return new LoginResponse(token, newRefreshToken, jwtExpiration, new UserProfileDto(user));
+    }
+
+    /**
+     * Revoke the caller's session: the whole token family when known, otherwise the
+     * individual access token plus the refresh token supplied by the client.
+     */
+    public void logout(JwtClaims accessClaims, String refreshToken) {
+        JwtClaims refreshClaims = null;
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            try {
+                refreshClaims = verify(refreshToken);
+            } catch (JwtException | IllegalArgumentException e) {
+                // Already invalid or expired: nothing to revoke
+            }
+        }
+
+        // Never let one user revoke another user's refresh token
+        if (refreshClaims != null && accessClaims != null
+                && !accessClaims.getUsername().equals(refreshClaims.getUsername())) {
+            refreshClaims = null;
+        }
+
+        JwtClaims session = accessClaims != null ? accessClaims : refreshClaims;
+        if (session == null) {
+            return;
+        }
+
+        if (session.getFamilyId() != null) {
+            tokenRevocationService.revokeFamily(session.getFamilyId(), session.getUsername(),
+                    LocalDateTime.now().plus(jwtExpiration * 7, ChronoUnit.MILLIS));
+        } else {
+            tokenRevocationService.revoke(accessClaims);
+            tokenRevocationService.revoke(refreshClaims);
+        }
+    }
+
     public String generateToken(User user) {
+        return generateToken(user, null);
+    }
+
+    public String generateToken(User user, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());
         claims.put("email", user.getEmail());
         claims.put("firstName", user.getFirstName());
         claims.put("lastName", user.getLastName());
+        if (familyId != null) {
+            claims.put("family", familyId);
+        }
 
         return createToken(claims, user.getUsername());
     }
@@ -82,6 +199,7 @@ public class AuthenticationService {
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
@@ -90,19 +208,19 @@ public class AuthenticationService {
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getUsername();
     }
 
     public String extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", String.class));
+        return verify(token).getUserId();
     }
 
     public String extractEmail(String token) {
-        return extractClaim(token, claims -> claims.get("email", String.class));
+        return verify(token).getEmail();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).getExpiration();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -110,42 +228,59 @@ public class AuthenticationService {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verify signature and expiry once and return the typed claims.
+     * Recently verified tokens are served from the LRU cache without re-running the HMAC.
+     * Throws a JwtException if the token is invalid or expired.
+     */
+    public JwtClaims verify(String token) {
+        String digest = VerifiedTokenCache.digest(token);
+        JwtClaims cached = verifiedTokenCache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtClaims claims = JwtClaims.from(extractAllClaims(token));
+        verifiedTokenCache.put(digest, claims);
+        return claims;
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token).isExpired();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final JwtClaims claims = verify(token);
+        return (claims.getUsername().equals(userDetails.getUsername()) && !claims.isExpired());
     }
 
     public Boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
+            return !verify(token).isExpired();
         } catch (Exception e) {
             return false;
         }
     }
 
     public String generateRefreshToken(User user) {
+        return generateRefreshToken(user, null);
+    }
+
+    public String generateRefreshToken(User user, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());
         claims.put("tokenType", "refresh");
+        if (familyId != null) {
+            claims.put("family", familyId);
+        }
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(user.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + (jwtExpiration * 7)))
@@ -154,12 +289,11 @@ public class AuthenticationService {
     }
 
     public String extractTokenType(String token) {
-        return extractClaim(token, claims -> claims.get("tokenType", String.class));
+        return verify(token).getTokenType();
     }
 
     public Boolean isRefreshToken(String token) {
-        String tokenType = extractTokenType(token);
-        return "refresh".equals(tokenType);
+        return verify(token).isRefreshToken();
     }
 
     public Long getExpirationTime() {
@@ -167,8 +301,7 @@ public class AuthenticationService {
     }
 
     public Long getRemainingTime(String token) {
-        Date expiration = extractExpiration(token);
-        return expiration.getTime() - System.currentTimeMillis();
+        return verify(token).getRemainingTime();
     }
 
     public Boolean needsRefresh(String token) {
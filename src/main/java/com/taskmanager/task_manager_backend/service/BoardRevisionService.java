@@ -0,0 +1,170 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.BoardRevision;
+import com.taskmanager.task_manager_backend.model.Task;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Board versions for conditional board reads and delta sync.
+ *
+ * Every column or card write bumps the board's BoardRevision and appends what it
+ * touched to the board's change log in one atomic pipeline update, so revisions only
+ * grow and a log entry is visible exactly when its revision is. The log keeps the
+ * last MAX_CHANGES entries; writes that touch many cards at once (column deletion,
+ * rebalancing, migration) are recorded as a bulk change, after which clients resync.
+ *
+ * Revisions are bumped after the write they describe: a reader may see a change
+ * before its revision, never a revision before its change.
+ */
+@Service
+public class BoardRevisionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardRevisionService.class);
+
+    static final int MAX_CHANGES = 500;
+    // Card writes touching more cards of one board are recorded as a bulk change
+    private static final int MAX_CARDS_PER_CHANGE = 100;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public void cardsChanged(String username, Task... cards) {
+        cardsChanged(username, Arrays.asList(cards));
+    }
+
+    /**
+     * Record writes to cards, for each board they are on (as passed: pass both the
+     * old and new state of a card that changed boards)
+     */
+    public void cardsChanged(String username, Collection<Task> cards) {
+        Map<String, Set<String>> idsByBoard = new LinkedHashMap<>();
+        for (Task card : cards) {
+            if (card != null && card.getBoardId() != null) {
+                idsByBoard.computeIfAbsent(card.getBoardId(), boardId -> new LinkedHashSet<>()).add(card.getId());
+            }
+        }
+
+        idsByBoard.forEach((boardId, ids) -> {
+            if (ids.size() > MAX_CARDS_PER_CHANGE) {
+                bulkChanged(username, boardId);
+            } else {
+                record(username, boardId, new ArrayList<>(ids), false);
+            }
+        });
+    }
+
+    /**
+     * Record a write to one card of a board, such as its removal from it
+     */
+    public void cardChanged(String username, String boardId, String taskId) {
+        record(username, boardId, List.of(taskId), false);
+    }
+
+    /**
+     * Record a change to the board itself: its columns or settings
+     */
+    public void boardChanged(String username, String boardId) {
+        record(username, boardId, Collections.singletonList(null), false);
+    }
+
+    /**
+     * Record a write to too many cards to log one by one; clients behind it resync
+     */
+    public void bulkChanged(String username, String boardId) {
+        if (boardId != null) {
+            record(username, boardId, List.of(), true);
+        }
+    }
+
+    /**
+     * The board's revision and change log, or null for a board never changed since
+     * revisions were introduced (revision 0)
+     */
+    public BoardRevision find(String username, String boardId, boolean withChanges) {
+        Query query = new Query(Criteria.where("boardId").is(boardId).and("username").is(username));
+        if (!withChanges) {
+            query.fields().include("revision");
+        }
+        return mongoTemplate.findOne(query, BoardRevision.class);
+    }
+
+    private void record(String username, String boardId, List<String> taskIds, boolean bulk) {
+        Query query = new Query(Criteria.where("boardId").is(boardId).and("username").is(username));
+        query.fields().include("revision");
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+        // Two writers creating the same (username, boardId) document: the unique index
+        // rejects the second insert, which retries as an update
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                mongoTemplate.findAndModify(query, revisionUpdate(username, taskIds, bulk), options, BoardRevision.class);
+                return;
+            } catch (DuplicateKeyException e) {
+                // retry
+            } catch (Exception e) {
+                // A board version must never fail the write it describes
+                log.warn("Could not bump revision of board {}: {}", boardId, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private static AggregationUpdate revisionUpdate(String username, List<String> taskIds, boolean bulk) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(set(new Document("username", new Document("$literal", username))
+                .append("revision", new Document("$add", List.of(ifNull("$revision", 0), 1)))));
+
+        if (bulk) {
+            stages.add(set(new Document("changes", new Document("$literal", List.of()))
+                    .append("changesFrom", "$revision")));
+            return AggregationUpdate.from(stages);
+        }
+
+        List<Document> entries = new ArrayList<>();
+        for (String taskId : taskIds) {
+            entries.add(new Document("revision", "$revision")
+                    .append("taskId", taskId != null ? new Document("$literal", taskId) : null));
+        }
+        stages.add(set(new Document("changes",
+                new Document("$concatArrays", List.of(ifNull("$changes", List.of()), entries)))));
+
+        // Entries about to be dropped: the log is then complete only from the oldest kept revision
+        Document truncated = new Document("$gt", List.of(new Document("$size", "$changes"), MAX_CHANGES));
+        Document oldestKept = new Document("$arrayElemAt", List.of("$changes.revision", -MAX_CHANGES));
+        stages.add(set(new Document("changesFrom", new Document("$cond", List.of(truncated,
+                new Document("$max", List.of(ifNull("$changesFrom", 0), oldestKept)),
+                ifNull("$changesFrom", 0))))));
+        stages.add(set(new Document("changes", new Document("$slice", List.of("$changes", -MAX_CHANGES)))));
+
+        return AggregationUpdate.from(stages);
+    }
+
+    private static AggregationOperation set(Document fields) {
+        return context -> new Document("$set", fields);
+    }
+
+    private static Document ifNull(String field, Object fallback) {
+        return new Document("$ifNull", List.of(field, fallback));
+    }
+}
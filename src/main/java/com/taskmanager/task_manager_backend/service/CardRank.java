@@ -0,0 +1,110 @@
+package com.taskmanager.task_manager_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic ranks for ordering Kanban cards within a column.
+ *
+ * A rank is a base-36 string ('0'-'9', 'a'-'z') compared as plain strings, so there
+ * is always room for another rank between two neighbours and a move only rewrites
+ * the moved card. Ranks never end in '0': "a" and "a0" would have nothing between them.
+ *
+ * Repeated inserts at the same spot lengthen ranks by about one character per five
+ * moves; past MAX_LENGTH the column is rebalanced with evenly spaced ranks.
+ */
+public final class CardRank {
+
+    public static final int MAX_LENGTH = 24;
+
+    private static final int BASE = 36;
+
+    private CardRank() {
+    }
+
+    /**
+     * A rank strictly between two others. Null stands for the start (before) or the
+     * end (after) of the column. Requires before < after.
+     */
+    public static String between(String before, String after) {
+        String low = before != null ? before : "";
+        if (after != null && low.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank " + before + " is not below " + after);
+        }
+
+        StringBuilder rank = new StringBuilder();
+        String high = after;
+        for (int i = 0; ; i++) {
+            int lowDigit = i < low.length() ? digit(low.charAt(i)) : 0;
+            int highDigit = high != null && i < high.length() ? digit(high.charAt(i)) : BASE;
+
+            if (lowDigit == highDigit) {
+                rank.append(character(lowDigit));
+                continue;
+            }
+
+            int mid = (lowDigit + highDigit) / 2;
+            if (mid > lowDigit) {
+                return rank.append(character(mid)).toString();
+            }
+
+            // Adjacent digits: keep the lower one, after which anything above the rest of low fits
+            rank.append(character(lowDigit));
+            high = null;
+        }
+    }
+
+    /**
+     * count ascending ranks strictly between two others (null for either end), evenly
+     * spaced and all the same length, for placing or rebalancing many cards at once
+     */
+    public static List<String> spread(String before, String after, int count) {
+        List<String> ranks = new ArrayList<>(count);
+        if (count == 0) {
+            return ranks;
+        }
+
+        // Every rank is prefix + a fixed-width suffix; prefix sits strictly between the
+        // bounds and is never a prefix of after, so all of them do too
+        String prefix = between(before, after);
+
+        int width = 1;
+        long slots = BASE;
+        while (slots / (count + 1L) < 2) {
+            width++;
+            slots *= BASE;
+        }
+        long step = slots / (count + 1L);
+
+        for (int i = 1; i <= count; i++) {
+            long value = i * step;
+            if (value % BASE == 0) {
+                // Avoid a trailing '0'; step >= 2 keeps it below the next value
+                value++;
+            }
+            ranks.add(prefix + encode(value, width));
+        }
+        return ranks;
+    }
+
+    private static String encode(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = character((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(digits);
+    }
+
+    private static int digit(char c) {
+        int digit = Character.digit(c, BASE);
+        if (digit < 0 || Character.isUpperCase(c)) {
+            throw new IllegalArgumentException("Invalid rank character '" + c + "'");
+        }
+        return digit;
+    }
+
+    private static char character(int digit) {
+        return Character.forDigit(digit, BASE);
+    }
+}
@@ -0,0 +1,129 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.Task;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rewrites a column's card ranks evenly spaced, keeping their order.
+ *
+ * Moves queue a column here once a rank grows past CardRank.MAX_LENGTH, and a
+ * background run rebalances it, so the move itself stays a single-document write.
+ * Each card's update is conditional on the rank it was read with: a card moved in
+ * the meantime keeps its new rank. On startup, columns holding cards from before
+ * ranking are ranked in their old positionInColumn order.
+ */
+@Component
+public class CardRankRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(CardRankRebalancer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BoardRevisionService boardRevisionService;
+
+    // (username, boardId, columnId)
+    private final Set<List<String>> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean backfilled;
+
+    public void request(String username, String boardId, String columnId) {
+        pending.add(Arrays.asList(username, boardId, columnId));
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.rank.rebalance-interval:5000}")
+    public void rebalancePending() {
+        for (List<String> column : pending) {
+            pending.remove(column);
+            try {
+                rebalance(column.get(0), column.get(1), column.get(2));
+            } catch (Exception e) {
+                log.warn("Could not rebalance column {}, will retry: {}", column, e.getMessage());
+                pending.add(column);
+            }
+        }
+    }
+
+    /**
+     * Rank the cards of every column that still has unranked ones.
+     * Runs once after startup and retries until it succeeds.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${kanban.rank.backfill-retry-interval:60000}")
+    public void backfill() {
+        if (backfilled) {
+            return;
+        }
+
+        try {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("columnId").ne(null).and("rank").exists(false)),
+                    Aggregation.group("username", "boardId", "columnId"));
+            List<Document> columns = mongoTemplate.aggregate(aggregation, Task.class, Document.class).getMappedResults();
+
+            int ranked = 0;
+            for (Document column : columns) {
+                Document key = column.get("_id", Document.class);
+                ranked += rebalance(key.getString("username"), key.getString("boardId"), key.getString("columnId"));
+            }
+            backfilled = true;
+
+            if (ranked > 0) {
+                log.info("Ranked {} cards in {} columns", ranked, columns.size());
+            }
+        } catch (Exception e) {
+            log.warn("Card rank backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Give every card in the column an evenly spaced rank in its current order
+     * (unranked cards first, by positionInColumn). Returns how many ranks changed.
+     */
+    public int rebalance(String username, String boardId, String columnId) {
+        Query query = new Query(Criteria.where("username").is(username)
+                .and("boardId").is(boardId)
+                .and("columnId").is(columnId))
+                .with(Sort.by("rank", "positionInColumn", "id"));
+        query.fields().include("rank");
+        List<Task> cards = mongoTemplate.find(query, Task.class);
+
+        List<String> ranks = CardRank.spread(null, null, cards.size());
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        int changed = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            Task card = cards.get(i);
+            if (ranks.get(i).equals(card.getRank())) {
+                continue;
+            }
+            ops.updateOne(new Query(Criteria.where("id").is(card.getId()).and("rank").is(card.getRank())),
+                    new Update().set("rank", ranks.get(i)));
+            changed++;
+        }
+
+        if (changed > 0) {
+            ops.execute();
+            // Every rank in the column is new to clients holding the board
+            boardRevisionService.bulkChanged(username, boardId);
+            log.info("Rebalanced {} of {} card ranks in column {} for user {}", changed, cards.size(), columnId, username);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.exception.BadRequestException;
+import com.taskmanager.task_manager_backend.model.Task;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over one Kanban column's (rank, id) order.
+ * Holds the column and the last card's rank and id, so the next page is a range
+ * scan of the (username, boardId, columnId, rank, _id) index.
+ */
+final class ColumnCursor {
+
+    private final String columnId;
+    private final String rank;
+    private final String id;
+
+    ColumnCursor(String columnId, String rank, String id) {
+        this.columnId = columnId;
+        this.rank = rank;
+        this.id = id;
+    }
+
+    static ColumnCursor after(Task lastCard) {
+        return new ColumnCursor(lastCard.getColumnId(), lastCard.getRank(), lastCard.getId());
+    }
+
+    String encode() {
+        String raw = columnId + "|" + (rank != null ? rank : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ColumnCursor decode(String cursor, String expectedColumnId) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // Column ids are free text; rank and id never contain '|'
+            int idSeparator = raw.lastIndexOf('|');
+            int rankSeparator = raw.lastIndexOf('|', idSeparator - 1);
+            String columnId = raw.substring(0, rankSeparator);
+            if (!columnId.equals(expectedColumnId)) {
+                throw new BadRequestException("Cursor was issued for a different column");
+            }
+            String rank = raw.substring(rankSeparator + 1, idSeparator);
+            return new ColumnCursor(columnId, rank.isEmpty() ? null : rank, raw.substring(idSeparator + 1));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Cards strictly after this cursor in (rank, id) order; unranked cards sort first
+     */
+    Criteria toCriteria() {
+        if (rank == null) {
+            return new Criteria().orOperator(
+                    Criteria.where("rank").is(null).and("id").gt(id),
+                    Criteria.where("rank").ne(null));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("rank").gt(rank),
+                Criteria.where("rank").is(rank).and("id").gt(id));
+    }
+}
@@ -3,7 +3,18 @@ package com.taskmanager.task_manager_backend.service;
 import com.taskmanager.task_manager_backend.dto.*;
 import com.taskmanager.task_manager_backend.model.*;
 import com.taskmanager.task_manager_backend.repository.*;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -19,6 +30,32 @@ public class KanbanService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskDueTimer taskDueTimer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CardRankRebalancer cardRankRebalancer;
+
+    @Autowired
+    private BoardRevisionService boardRevisionService;
+
+    private static final int MOVE_ATTEMPTS = 3;
+
+    private static final int DEFAULT_COLUMN_LIMIT = 50;
+    private static final int MAX_COLUMN_LIMIT = 200;
+    // Cards per column on the unpaged board
+    private static final int FULL_BOARD_COLUMN_LIMIT = 1000;
+
+    // What a board card (TaskDTO) needs, plus rank for the column cursor
+    private static final String[] CARD_FIELDS = {
+            "title", "description", "priority", "status", "dueDate", "tags", "columnId", "category", "rank"};
+
     /**
      * Create default board for new users
      */
@@ -44,15 +81,150 @@ public class KanbanService {
     }
 
     /**
-     * Get board with tasks
+     * Get board with tasks, for clients that do not page: the getBoardPage query with a
+     * cap of FULL_BOARD_COLUMN_LIMIT cards per column instead of the page size. A column
+     * past the cap comes back with a cursor, like a paged one.
      */
     public KanbanBoardDTO getBoardWithTasks(String username, String boardId) {
+        return boardPage(username, boardId, FULL_BOARD_COLUMN_LIMIT);
+    }
+
+    /**
+     * Get board with the first cards of every column.
+     * One aggregation reads at most limit + 1 cards per column from the
+     * (username, boardId, columnId, rank, _id) index and groups them by column, so
+     * the cost depends on the number of columns and the limit, not on the board size.
+     * Columns with more cards carry a cursor for getColumnPage.
+     */
+    public KanbanBoardDTO getBoardPage(String username, String boardId, Integer limit) {
+        return boardPage(username, boardId, columnLimit(limit));
+    }
+
+    private KanbanBoardDTO boardPage(String username, String boardId, int pageSize) {
+        // Read before the board, so the snapshot is at least as new as the revision it reports
+        long revision = currentRevision(username, boardId);
         KanbanBoard board = boardRepository.findByUsernameAndId(username, boardId)
                 .orElseThrow(() -> new RuntimeException("Board not found"));
 
-        List<Task> tasks = taskRepository.findByUsernameAndBoardIdOrderByPositionInColumnAsc(username, boardId);
+        List<String> columnIds = board.getColumns().stream().map(KanbanColumn::getId).collect(Collectors.toList());
+        Map<String, List<Task>> tasksByColumn = firstCards(username, boardId, columnIds, pageSize);
 
-        return convertToBoardDTO(board, tasks);
+        // Cards from before ranking: rank their columns so the order matches what moves will see
+        List<String> unranked = tasksByColumn.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().anyMatch(task -> task.getRank() == null))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!unranked.isEmpty()) {
+            unranked.forEach(columnId -> cardRankRebalancer.rebalance(username, boardId, columnId));
+            revision = currentRevision(username, boardId);
+            tasksByColumn = firstCards(username, boardId, columnIds, pageSize);
+        }
+
+        return convertToBoardDTO(board, tasksByColumn, pageSize, revision);
+    }
+
+    /**
+     * Next cards of one column after a cursor from getBoardPage or a previous page
+     */
+    public KanbanColumnDTO getColumnPage(String username, String boardId, String columnId, String cursor, Integer limit) {
+        KanbanBoard board = boardRepository.findByUsernameAndId(username, boardId)
+                .orElseThrow(() -> new RuntimeException("Board not found"));
+        KanbanColumn column = board.getColumns().stream()
+                .filter(col -> col.getId().equals(columnId))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Column not found"));
+
+        int pageSize = columnLimit(limit);
+        Criteria criteria = columnCriteria(username, boardId, columnId);
+        if (cursor != null && !cursor.isBlank()) {
+            criteria = new Criteria().andOperator(criteria, ColumnCursor.decode(cursor, columnId).toCriteria());
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by("rank", "id"))
+                .limit(pageSize + 1);
+        query.fields().include(CARD_FIELDS);
+
+        return convertToColumnDTO(column, mongoTemplate.find(query, Task.class), pageSize);
+    }
+
+    /**
+     * The board's current revision (0 until its first change), for conditional reads
+     */
+    public long getBoardRevision(String username, String boardId) {
+        BoardRevision revision = boardRevisionService.find(username, boardId, false);
+        if (revision != null) {
+            return revision.getRevision();
+        }
+        boardRepository.findByUsernameAndId(username, boardId)
+                .orElseThrow(() -> new RuntimeException("Board not found"));
+        return 0;
+    }
+
+    /**
+     * Cards and columns changed after revision since, read from the board's change log.
+     * Changed cards are sent in their current state, so applying a change twice is
+     * harmless; resync is set when the log no longer reaches back to since.
+     */
+    public BoardChangesDTO getBoardChanges(String username, String boardId, long since) {
+        // The log first: the board and cards read after it are at least as new
+        BoardRevision revision = boardRevisionService.find(username, boardId, true);
+        KanbanBoard board = boardRepository.findByUsernameAndId(username, boardId)
+                .orElseThrow(() -> new RuntimeException("Board not found"));
+
+        BoardChangesDTO changes = new BoardChangesDTO();
+        changes.setBoardId(boardId);
+        if (revision == null) {
+            changes.setResync(since != 0);
+            return changes;
+        }
+
+        changes.setRevision(revision.getRevision());
+        if (since < revision.getChangesFrom() || since > revision.getRevision()) {
+            changes.setResync(true);
+            return changes;
+        }
+
+        boolean boardChanged = false;
+        Set<String> taskIds = new LinkedHashSet<>();
+        for (BoardChange change : revision.getChanges()) {
+            if (change.getRevision() <= since) {
+                continue;
+            }
+            if (change.getTaskId() == null) {
+                boardChanged = true;
+            } else {
+                taskIds.add(change.getTaskId());
+            }
+        }
+
+        if (boardChanged) {
+            changes.setColumns(board.getColumns().stream()
+                    .sorted(Comparator.comparingInt(KanbanColumn::getOrder))
+                    .map(col -> convertToColumnDTO(col, List.of(), null))
+                    .collect(Collectors.toList()));
+            changes.setSettings(convertToSettingsDTO(board.getSettings()));
+        }
+
+        if (!taskIds.isEmpty()) {
+            Query query = new Query(Criteria.where("username").is(username)
+                    .and("boardId").is(boardId)
+                    .and("id").in(taskIds));
+            query.fields().include(CARD_FIELDS);
+            for (Task task : mongoTemplate.find(query, Task.class)) {
+                changes.getTasks().add(convertToTaskDTO(task));
+                taskIds.remove(task.getId());
+            }
+            // Deleted, or moved to another board
+            changes.getRemovedTaskIds().addAll(taskIds);
+        }
+
+        return changes;
+    }
+
+    private long currentRevision(String username, String boardId) {
+        BoardRevision revision = boardRevisionService.find(username, boardId, false);
+        return revision != null ? revision.getRevision() : 0;
     }
 
     /**
@@ -79,7 +251,9 @@ public class KanbanService {
         board.getColumns().add(column);
         board.setUpdatedAt(LocalDateTime.now());
 
-        return boardRepository.save(board);
+        KanbanBoard savedBoard = boardRepository.save(board);
+        boardRevisionService.boardChanged(username, boardId);
+        return savedBoard;
     }
 
     /**
@@ -105,13 +279,14 @@ public class KanbanService {
                 });
 
         board.setUpdatedAt(LocalDateTime.now());
-        return boardRepository.save(board);
+        KanbanBoard savedBoard = boardRepository.save(board);
+        boardRevisionService.boardChanged(username, boardId);
+        return savedBoard;
     }
 
     /**
      * Delete column and move tasks to first column
      */
-    @Transactional
     public KanbanBoard deleteColumn(String username, String boardId, String columnId) {
         KanbanBoard board = boardRepository.findByUsernameAndId(username, boardId)
                 .orElseThrow(() -> new RuntimeException("Board not found"));
@@ -120,16 +295,16 @@ public class KanbanService {
             throw new RuntimeException("Cannot delete the last column");
         }
 
-        List<Task> tasksInColumn = taskRepository.findByUsernameAndColumnIdOrderByPositionInColumnAsc(username, columnId);
-        String firstColumnId = board.getColumns().get(0).getId();
+        String firstColumnId = board.getColumns().stream()
+                .map(KanbanColumn::getId)
+                .filter(id -> !id.equals(columnId))
+                .findFirst()
+                .orElseThrow();
 
-        int position = 0;
-        for (Task task : tasksInColumn) {
-            task.setColumnId(firstColumnId);
-            task.setPositionInColumn(position++);
-            task.setUpdatedAt(LocalDateTime.now());
-            taskRepository.save(task);
-        }
+        // Not atomic (there is no transaction manager); the order is the guarantee. Cards
+        // first, then the board: a failure in between leaves an empty column, never cards
+        // in a column that no longer exists. Cards moved in meanwhile are swept after.
+        appendColumn(username, boardId, columnId, firstColumnId);
 
         board.getColumns().removeIf(col -> col.getId().equals(columnId));
 
@@ -138,24 +313,70 @@ public class KanbanService {
         }
 
         board.setUpdatedAt(LocalDateTime.now());
-        return boardRepository.save(board);
+        KanbanBoard savedBoard = boardRepository.save(board);
+
+        appendColumn(username, boardId, columnId, firstColumnId);
+        boardRevisionService.bulkChanged(username, boardId);
+        return savedBoard;
     }
 
     /**
-     * Move task between columns
+     * Move task between columns.
+     * The card gets a rank between its new neighbours, so only the card itself is
+     * written however long the column is.
      */
     @Transactional
     public Task moveTask(String username, MoveTaskRequest request) {
         Task task = taskRepository.findByIdAndUsername(request.getTaskId(), username)
                 .orElseThrow(() -> new RuntimeException("Task not found or access denied"));
 
+        if (task.getRank() == null && task.getColumnId() != null) {
+            // From before ranking: rank its column first so its place there is known
+            cardRankRebalancer.rebalance(username, task.getBoardId(), task.getColumnId());
+            task = taskRepository.findByIdAndUsername(request.getTaskId(), username)
+                    .orElseThrow(() -> new RuntimeException("Task not found or access denied"));
+        }
+
+        String fromColumnId = task.getColumnId();
         task.setColumnId(request.getToColumnId());
-        task.setPositionInColumn(request.getNewPosition() != null ? request.getNewPosition() : 0);
+        task.setRank(rankAt(username, task, fromColumnId, request.getNewPosition() != null ? request.getNewPosition() : 0));
 
+        TaskStatus oldStatus = task.getStatus();
         updateTaskStatusFromColumn(task, request.getToColumnId());
+        task.addEvent(TaskEvent.statusChange(task, oldStatus));
 
         task.setUpdatedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+
+        taskStatsService.apply(username, new TaskStatsService.Delta().changed(
+                oldStatus, savedTask.getPriority(), savedTask.getStatus(), savedTask.getPriority()));
+        taskDueTimer.reschedule(savedTask, savedTask.getDueDate(), oldStatus);
+        boardRevisionService.cardsChanged(username, savedTask);
+        return savedTask;
+    }
+
+    /**
+     * count ranks below the last card of a column, for placing cards at its end
+     */
+    public List<String> ranksAtEnd(String username, String boardId, String columnId, int count) {
+        Task last = edgeCard(username, boardId, columnId, Sort.Direction.DESC);
+        if (last != null && last.getRank() == null) {
+            cardRankRebalancer.rebalance(username, boardId, columnId);
+            last = edgeCard(username, boardId, columnId, Sort.Direction.DESC);
+        }
+        return CardRank.spread(last != null ? last.getRank() : null, null, count);
+    }
+
+    /**
+     * A rank above the first card of a column
+     */
+    public String rankAtStart(String username, String boardId, String columnId) {
+        Task first = edgeCard(username, boardId, columnId, Sort.Direction.ASC);
+        if (first != null && first.getRank() == null) {
+            cardRankRebalancer.rebalance(username, boardId, columnId);
+            first = edgeCard(username, boardId, columnId, Sort.Direction.ASC);
+        }
+        return CardRank.between(null, first != null ? first.getRank() : null);
     }
 
     /**
@@ -187,7 +408,9 @@ public class KanbanService {
 
         board.setSettings(settings);
         board.setUpdatedAt(LocalDateTime.now());
-        return boardRepository.save(board);
+        KanbanBoard savedBoard = boardRepository.save(board);
+        boardRevisionService.boardChanged(username, boardId);
+        return savedBoard;
     }
 
     /**
@@ -212,7 +435,9 @@ public class KanbanService {
 
         board.setColumns(reorderedColumns);
         board.setUpdatedAt(LocalDateTime.now());
-        return boardRepository.save(board);
+        KanbanBoard savedBoard = boardRepository.save(board);
+        boardRevisionService.boardChanged(username, boardId);
+        return savedBoard;
     }
 
     // ====================================
@@ -235,52 +460,207 @@ public class KanbanService {
         }
     }
 
-    private KanbanBoardDTO convertToBoardDTO(KanbanBoard board, List<Task> tasks) {
+    /**
+     * Rank that puts a card at the given index of its new column, counted without the
+     * card itself. Reads the (at most three) ranks around that index from the
+     * (username, boardId, columnId, rank, _id) index, plus a count when the card stays
+     * in its column and may sit above the drop point.
+     */
+    private String rankAt(String username, Task task, String fromColumnId, int position) {
+        for (int attempt = 0; attempt < MOVE_ATTEMPTS; attempt++) {
+            int offset = Math.max(0, position - 1);
+            boolean sameColumn = Objects.equals(task.getColumnId(), fromColumnId);
+            if (offset > 0 && sameColumn) {
+                Query above = new Query(columnCriteria(username, task.getBoardId(), task.getColumnId())
+                        .and("rank").lt(task.getRank()));
+                if (mongoTemplate.count(above, Task.class) < offset) {
+                    offset++;
+                }
+            }
+
+            Query window = new Query(columnCriteria(username, task.getBoardId(), task.getColumnId()))
+                    .with(Sort.by("rank", "id"))
+                    .skip(offset)
+                    .limit(3);
+            window.fields().include("rank");
+            List<Task> cards = mongoTemplate.find(window, Task.class);
+            cards.removeIf(card -> card.getId().equals(task.getId()));
+
+            Task before = null;
+            Task after = null;
+            if (position == 0) {
+                after = cards.isEmpty() ? null : cards.get(0);
+            } else if (!cards.isEmpty()) {
+                before = cards.get(0);
+                after = cards.size() > 1 ? cards.get(1) : null;
+            } else {
+                // Past the end of the column
+                List<String> end = ranksAtEnd(username, task.getBoardId(), task.getColumnId(), 1);
+                return end.get(0);
+            }
+
+            String low = before != null ? before.getRank() : null;
+            String high = after != null ? after.getRank() : null;
+            boolean ranked = (before == null || low != null) && (after == null || high != null);
+            if (ranked && (low == null || high == null || low.compareTo(high) < 0)) {
+                String rank = CardRank.between(low, high);
+                if (rank.length() > CardRank.MAX_LENGTH) {
+                    cardRankRebalancer.request(username, task.getBoardId(), task.getColumnId());
+                }
+                return rank;
+            }
+
+            // Unranked or tied neighbours (two moves raced for one slot): re-rank the column and look again
+            cardRankRebalancer.rebalance(username, task.getBoardId(), task.getColumnId());
+            if (sameColumn) {
+                Task stored = mongoTemplate.findById(task.getId(), Task.class);
+                task.setRank(stored != null ? stored.getRank() : null);
+            }
+        }
+        throw new RuntimeException("Column was modified concurrently, try the move again");
+    }
+
+    /**
+     * Move every card of one column below the cards of another with a single
+     * server-side update, keeping their order: each card's new rank is its old one
+     * behind a common prefix that sorts after the target's last card.
+     */
+    private long appendColumn(String username, String boardId, String columnId, String toColumnId) {
+        if (mongoTemplate.exists(new Query(columnCriteria(username, boardId, columnId).and("rank").is(null)), Task.class)) {
+            cardRankRebalancer.rebalance(username, boardId, columnId);
+        }
+
+        Task last = edgeCard(username, boardId, toColumnId, Sort.Direction.DESC);
+        if (last != null && last.getRank() == null) {
+            cardRankRebalancer.rebalance(username, boardId, toColumnId);
+            last = edgeCard(username, boardId, toColumnId, Sort.Direction.DESC);
+        }
+        String prefix = CardRank.between(last != null ? last.getRank() : null, null);
+
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("columnId").toValue(toColumnId)
+                .set("rank").toValue(StringOperators.Concat.stringValue(prefix).concatValueOf("rank"))
+                .set("updatedAt").toValue(LocalDateTime.now())
+                .set("version").toValue(ArithmeticOperators.valueOf("version").add(1));
+        long moved = mongoTemplate.updateMulti(new Query(columnCriteria(username, boardId, columnId)), update, Task.class).getModifiedCount();
+
+        if (moved > 0) {
+            // The prefixed ranks are longer than they need to be
+            cardRankRebalancer.request(username, boardId, toColumnId);
+        }
+        return moved;
+    }
+
+    private Task edgeCard(String username, String boardId, String columnId, Sort.Direction direction) {
+        Query query = new Query(columnCriteria(username, boardId, columnId))
+                .with(Sort.by(direction, "rank", "id"))
+                .limit(1);
+        query.fields().include("rank");
+        return mongoTemplate.findOne(query, Task.class);
+    }
+
+    private static Criteria columnCriteria(String username, String boardId, String columnId) {
+        return Criteria.where("username").is(username).and("boardId").is(boardId).and("columnId").is(columnId);
+    }
+
+    /**
+     * The first limit + 1 cards of each column, grouped by column in the database:
+     * one indexed $match/$sort/$limit branch per column joined with $unionWith
+     */
+    private Map<String, List<Task>> firstCards(String username, String boardId, List<String> columnIds, int pageSize) {
+        Map<String, List<Task>> tasksByColumn = new HashMap<>();
+        if (columnIds.isEmpty()) {
+            return tasksByColumn;
+        }
+
+        List<AggregationOperation> operations = new ArrayList<>(
+                columnHead(username, boardId, columnIds.get(0), pageSize + 1));
+        String collection = mongoTemplate.getCollectionName(Task.class);
+        for (String columnId : columnIds.subList(1, columnIds.size())) {
+            operations.add(UnionWithOperation.unionWith(collection)
+                    .pipeline(columnHead(username, boardId, columnId, pageSize + 1))
+                    .mapFieldsTo(Task.class));
+        }
+        operations.add(Aggregation.sort(Sort.by("columnId", "rank", "_id")));
+        operations.add(Aggregation.group("columnId").push(Aggregation.ROOT).as("tasks"));
+
+        List<Document> columns = mongoTemplate.aggregate(
+                Aggregation.newAggregation(Task.class, operations), Document.class).getMappedResults();
+        for (Document column : columns) {
+            List<Task> tasks = column.getList("tasks", Document.class).stream()
+                    .map(card -> mongoTemplate.getConverter().read(Task.class, card))
+                    .collect(Collectors.toList());
+            tasksByColumn.put(column.getString("_id"), tasks);
+        }
+        return tasksByColumn;
+    }
+
+    private static List<AggregationOperation> columnHead(String username, String boardId, String columnId, int count) {
+        return List.of(
+                Aggregation.match(columnCriteria(username, boardId, columnId)),
+                Aggregation.sort(Sort.by("rank", "_id")),
+                Aggregation.limit(count),
+                Aggregation.project(CARD_FIELDS));
+    }
+
+    private static int columnLimit(Integer limit) {
+        return limit == null ? DEFAULT_COLUMN_LIMIT : Math.max(1, Math.min(limit, MAX_COLUMN_LIMIT));
+    }
+
+    /**
+     * Each column holds up to pageSize + 1 cards, the extra one only telling whether there are more
+     */
+    private KanbanBoardDTO convertToBoardDTO(KanbanBoard board, Map<String, List<Task>> tasksByColumn, int pageSize,
+                                             long revision) {
         KanbanBoardDTO dto = new KanbanBoardDTO();
         dto.setId(board.getId());
         dto.setName(board.getName());
-
-        Map<String, List<Task>> tasksByColumn = tasks.stream()
-                .collect(Collectors.groupingBy(
-                        task -> task.getColumnId() != null ? task.getColumnId() : "todo"
-                ));
+        dto.setRevision(revision);
 
         List<KanbanColumnDTO> columnDTOs = board.getColumns().stream()
                 .sorted(Comparator.comparingInt(KanbanColumn::getOrder))
-                .map(col -> {
-                    KanbanColumnDTO colDTO = new KanbanColumnDTO();
-                    colDTO.setId(col.getId());
-                    colDTO.setName(col.getName());
-                    colDTO.setOrder(col.getOrder());
-                    colDTO.setWipLimit(col.getWipLimit());
-                    colDTO.setColor(col.getColor());
-
-                    List<Task> columnTasks = tasksByColumn.getOrDefault(col.getId(), new ArrayList<>());
-                    columnTasks.sort(Comparator.comparing(
-                            task -> task.getPositionInColumn() != null ? task.getPositionInColumn() : 0
-                    ));
-
-                    colDTO.setTasks(columnTasks.stream()
-                            .map(this::convertToTaskDTO)
-                            .collect(Collectors.toList()));
-
-                    return colDTO;
-                })
+                .map(col -> convertToColumnDTO(col, tasksByColumn.getOrDefault(col.getId(), new ArrayList<>()), pageSize))
                 .collect(Collectors.toList());
 
         dto.setColumns(columnDTOs);
 
-        if (board.getSettings() != null) {
-            BoardSettingsDTO settingsDTO = new BoardSettingsDTO();
-            settingsDTO.setShowCompletedTasks(board.getSettings().isShowCompletedTasks());
-            settingsDTO.setDefaultView(board.getSettings().getDefaultView());
-            settingsDTO.setEnableWipLimits(board.getSettings().isEnableWipLimits());
-            dto.setSettings(settingsDTO);
-        }
+        dto.setSettings(convertToSettingsDTO(board.getSettings()));
 
         return dto;
     }
 
+    private BoardSettingsDTO convertToSettingsDTO(BoardSettings settings) {
+        if (settings == null) {
+            return null;
+        }
+        BoardSettingsDTO settingsDTO = new BoardSettingsDTO();
+        settingsDTO.setShowCompletedTasks(settings.isShowCompletedTasks());
+        settingsDTO.setDefaultView(settings.getDefaultView());
+        settingsDTO.setEnableWipLimits(settings.isEnableWipLimits());
+        return settingsDTO;
+    }
+
+    private KanbanColumnDTO convertToColumnDTO(KanbanColumn col, List<Task> columnTasks, Integer pageSize) {
+        KanbanColumnDTO colDTO = new KanbanColumnDTO();
+        colDTO.setId(col.getId());
+        colDTO.setName(col.getName());
+        colDTO.setOrder(col.getOrder());
+        colDTO.setWipLimit(col.getWipLimit());
+        colDTO.setColor(col.getColor());
+
+        if (pageSize != null && columnTasks.size() > pageSize) {
+            columnTasks = columnTasks.subList(0, pageSize);
+            colDTO.setHasMore(true);
+            colDTO.setNextCursor(ColumnCursor.after(columnTasks.get(pageSize - 1)).encode());
+        }
+
+        colDTO.setTasks(columnTasks.stream()
+                .map(this::convertToTaskDTO)
+                .collect(Collectors.toList()));
+
+        return colDTO;
+    }
+
     private TaskDTO convertToTaskDTO(Task task) {
         TaskDTO dto = new TaskDTO();
         dto.setId(task.getId());
@@ -296,6 +676,7 @@ public class KanbanService {
         dto.setTags(task.getTags());
         dto.setColumnId(task.getColumnId());
         dto.setCategory(task.getCategory());
+        dto.setRank(task.getRank());
 
         return dto;
     }
@@ -1,16 +1,33 @@
 package com.taskmanager.task_manager_backend.service;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
 import com.taskmanager.task_manager_backend.model.Notification;
 import com.taskmanager.task_manager_backend.model.NotificationType;
 import com.taskmanager.task_manager_backend.model.NotificationPriority;
 import com.taskmanager.task_manager_backend.repository.NotificationRepository;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -22,9 +39,27 @@ public class NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
+    private static final int DUPLICATE_KEY = 11000;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    // "sweep": a daily deleteMany; "ttl": a TTL index on readAt, see MongoIndexInitializer
+    @Value("${notifications.retention.mode:sweep}")
+    private String retentionMode = "sweep";
+
+    @Value("${notifications.retention.period:P30D}")
+    private Duration retentionPeriod = Duration.ofDays(30);
+
     public List<Notification> getAllNotifications(String username, boolean includeRead, boolean includeArchived) {
         if (!includeArchived) {
             if (!includeRead) {
@@ -43,21 +78,50 @@ public class NotificationService {
         return notificationRepository.findById(id);
     }
 
+    /**
+     * Badge count, served from UnreadNotificationCounter rather than a count query per poll
+     */
     public long getUnreadCount(String username) {
-        return notificationRepository.countByUsernameAndReadFalse(username);
+        return unreadNotificationCounter.get(username);
     }
 
+    /**
+     * Totals by type and priority plus the unread count, in one $facet aggregation
+     */
     public Map<String, Object> getNotificationStats(String username) {
-        List<Notification> allNotifications = notificationRepository.findByUsernameOrderByCreatedAtDesc(username);
-
-        long total = allNotifications.size();
-        long unread = allNotifications.stream().filter(n -> !n.isRead()).count();
-
-        Map<NotificationType, Long> byType = allNotifications.stream()
-                .collect(Collectors.groupingBy(Notification::getType, Collectors.counting()));
-
-        Map<NotificationPriority, Long> byPriority = allNotifications.stream()
-                .collect(Collectors.groupingBy(Notification::getPriority, Collectors.counting()));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("username").is(username)),
+                Aggregation.project("type", "priority", "read"),
+                Aggregation.facet(Aggregation.group("type").count().as("count")).as("byType")
+                        .and(Aggregation.group("priority").count().as("count")).as("byPriority")
+                        .and(Aggregation.match(Criteria.where("read").is(false)),
+                                Aggregation.count().as("count")).as("unread"));
+
+        Document facets = mongoTemplate.aggregate(aggregation, Notification.class, Document.class)
+                .getUniqueMappedResult();
+
+        long total = 0;
+        long unread = 0;
+        Map<NotificationType, Long> byType = new HashMap<>();
+        Map<NotificationPriority, Long> byPriority = new HashMap<>();
+
+        if (facets != null) {
+            for (Document group : facets.getList("byType", Document.class)) {
+                long count = ((Number) group.get("count")).longValue();
+                total += count;
+                if (group.getString("_id") != null) {
+                    byType.put(NotificationType.valueOf(group.getString("_id")), count);
+                }
+            }
+            for (Document group : facets.getList("byPriority", Document.class)) {
+                if (group.getString("_id") != null) {
+                    byPriority.put(NotificationPriority.valueOf(group.getString("_id")),
+                            ((Number) group.get("count")).longValue());
+                }
+            }
+            List<Document> unreadCount = facets.getList("unread", Document.class);
+            unread = unreadCount.isEmpty() ? 0 : ((Number) unreadCount.get(0).get("count")).longValue();
+        }
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("total", total);
@@ -76,7 +140,104 @@ public class NotificationService {
         log.info("Creating notification for user: {} - Type: {}",
                 notification.getUsername(), notification.getType());
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        unreadNotificationCounter.add(saved.getUsername(), 1);
+        notificationStreamService.notificationCreated(saved);
+        return saved;
+    }
+
+    /**
+     * Insert many notifications in a single insertMany round trip
+     */
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Notification notification : notifications) {
+            notification.setCreatedAt(now);
+            notification.setRead(false);
+            notification.setArchived(false);
+        }
+
+        log.info("Creating {} notifications in one batch", notifications.size());
+
+        List<Notification> inserted = notificationRepository.insert(notifications);
+        inserted.stream()
+                .collect(Collectors.groupingBy(Notification::getUsername, Collectors.counting()))
+                .forEach(unreadNotificationCounter::add);
+        inserted.forEach(notificationStreamService::notificationCreated);
+        return inserted;
+    }
+
+    /**
+     * Write generated notifications idempotently: one upsert per dedupe key that only
+     * sets fields on insert, in a single unordered bulk write. A key that already exists
+     * is left untouched (read state included), so repeating a run writes nothing.
+     * Returns how many notifications were actually new.
+     */
+    public int upsertNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class);
+        for (Notification notification : notifications) {
+            if (notification.getDedupeKey() == null) {
+                throw new IllegalArgumentException("Generated notification needs a dedupe key");
+            }
+            notification.setCreatedAt(now);
+            notification.setRead(false);
+            notification.setArchived(false);
+
+            Document document = new Document();
+            mongoTemplate.getConverter().write(notification, document);
+            document.remove("_id");
+
+            Update update = new Update();
+            document.forEach(update::setOnInsert);
+            ops.upsert(new Query(Criteria.where("dedupeKey").is(notification.getDedupeKey())), update);
+        }
+
+        BulkWriteResult result;
+        try {
+            result = ops.execute();
+        } catch (BulkOperationException e) {
+            // Two writers upserting the same new key: the unique index lets one through
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            result = e.getResult();
+        }
+
+        // Only the notifications that were actually inserted count as unread
+        Map<String, Long> insertedByUser = new HashMap<>();
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            Notification notification = notifications.get(upsert.getIndex());
+            notification.setId(upsert.getId().asObjectId().getValue().toHexString());
+            insertedByUser.merge(notification.getUsername(), 1L, Long::sum);
+        }
+        insertedByUser.forEach(unreadNotificationCounter::add);
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            notificationStreamService.notificationCreated(notifications.get(upsert.getIndex()));
+        }
+
+        int inserted = result.getUpserts().size();
+
+        log.info("Upserted {} generated notifications, {} new", notifications.size(), inserted);
+        return inserted;
+    }
+
+    /**
+     * Dedupe key for a generated task notification; the bucket is the moment it refers to
+     * (a deadline, say), truncated to the minute
+     */
+    public static String dedupeKey(String taskId, NotificationType type, LocalDateTime bucket) {
+        return taskId + ":" + type + ":" + bucket.truncatedTo(ChronoUnit.MINUTES);
     }
 
     public Notification createTaskNotification(
@@ -88,6 +249,21 @@ public class NotificationService {
             String message,
             Map<String, Object> metadata) {
 
+        return createNotification(buildTaskNotification(username, taskId, type, priority, title, message, metadata));
+    }
+
+    /**
+     * Task notification that has not been saved yet, for callers that batch inserts
+     */
+    public Notification buildTaskNotification(
+            String username,
+            String taskId,
+            NotificationType type,
+            NotificationPriority priority,
+            String title,
+            String message,
+            Map<String, Object> metadata) {
+
         Notification notification = new Notification();
         notification.setUsername(username);
         notification.setTaskId(taskId);
@@ -98,45 +274,63 @@ public class NotificationService {
         notification.setMetadata(metadata);
         notification.setActionUrl("/tasks?taskId=" + taskId);
 
-        return createNotification(notification);
+        return notification;
     }
 
+    /**
+     * Mark one notification read. Conditional on it being unread, so only the call
+     * that actually flips it moves the unread count.
+     */
     public Notification markAsRead(String id) {
-        Optional<Notification> optionalNotification = notificationRepository.findById(id);
-
-        if (optionalNotification.isPresent()) {
-            Notification notification = optionalNotification.get();
-            notification.setRead(true);
-            notification.setReadAt(LocalDateTime.now());
-            return notificationRepository.save(notification);
+        Notification notification = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(id).and("read").is(false)),
+                markReadUpdate(),
+                FindAndModifyOptions.options().returnNew(true),
+                Notification.class);
+
+        if (notification != null) {
+            unreadNotificationCounter.add(notification.getUsername(), -1);
+            notificationStreamService.unreadChanged(notification.getUsername());
+            return notification;
         }
 
-        throw new RuntimeException("Notification not found with id: " + id);
+        // Already read, or gone
+        return notificationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
     }
 
-    @Transactional
-    public void markMultipleAsRead(List<String> ids) {
-        for (String id : ids) {
-            try {
-                markAsRead(id);
-            } catch (Exception e) {
-                log.error("Error marking notification as read: {}", id, e);
-            }
+    /**
+     * Mark the given notifications read in one updateMulti.
+     * Ids that don't belong to the user (or are already read) are simply not matched.
+     */
+    public long markMultipleAsRead(List<String> ids, String username) {
+        Query query = new Query(Criteria.where("username").is(username)
+                .and("id").in(ids)
+                .and("read").is(false));
+        long modified = mongoTemplate.updateMulti(query, markReadUpdate(), Notification.class).getModifiedCount();
+        unreadNotificationCounter.add(username, -modified);
+        if (modified > 0) {
+            notificationStreamService.unreadChanged(username);
         }
-    }
 
-    @Transactional
-    public void markAllAsRead(String username) {
-        List<Notification> unreadNotifications = notificationRepository
-                .findByUsernameAndReadFalseOrderByCreatedAtDesc(username);
+        log.info("Marked {} of {} notifications as read for user: {}", modified, ids.size(), username);
+        return modified;
+    }
 
-        for (Notification notification : unreadNotifications) {
-            notification.setRead(true);
-            notification.setReadAt(LocalDateTime.now());
-            notificationRepository.save(notification);
+    public long markAllAsRead(String username) {
+        Query query = new Query(Criteria.where("username").is(username).and("read").is(false));
+        long modified = mongoTemplate.updateMulti(query, markReadUpdate(), Notification.class).getModifiedCount();
+        unreadNotificationCounter.add(username, -modified);
+        if (modified > 0) {
+            notificationStreamService.unreadChanged(username);
         }
 
-        log.info("Marked {} notifications as read for user: {}", unreadNotifications.size(), username);
+        log.info("Marked {} notifications as read for user: {}", modified, username);
+        return modified;
+    }
+
+    private static Update markReadUpdate() {
+        return new Update().set("read", true).set("readAt", LocalDateTime.now());
     }
 
     public Notification archiveNotification(String id) {
@@ -152,7 +346,13 @@ public class NotificationService {
     }
 
     public void deleteNotification(String id) {
-        notificationRepository.deleteById(id);
+        Query query = new Query(Criteria.where("id").is(id));
+        query.fields().include("username", "read");
+        Notification deleted = mongoTemplate.findAndRemove(query, Notification.class);
+        if (deleted != null && !deleted.isRead()) {
+            unreadNotificationCounter.add(deleted.getUsername(), -1);
+            notificationStreamService.unreadChanged(deleted.getUsername());
+        }
         log.info("Deleted notification: {}", id);
     }
 
@@ -162,25 +362,46 @@ public class NotificationService {
         log.info("Deleted all read notifications for user: {}", username);
     }
 
-    @Transactional
-    public void deleteNotificationsByTaskId(String taskId) {
-        notificationRepository.deleteByTaskId(taskId);
-        log.info("Deleted notifications for task: {}", taskId);
+    /**
+     * Delete a task's notifications. How many of them were unread isn't known, so the
+     * owner's unread count is rebuilt on its next read.
+     */
+    public void deleteNotificationsByTaskId(String taskId, String username) {
+        deleteNotificationsByTaskIds(List.of(taskId), username);
     }
 
-    @Transactional
-    public void cleanupOldNotifications() {
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<Notification> oldNotifications = notificationRepository.findByCreatedAtBefore(thirtyDaysAgo);
-
-        int deletedCount = 0;
-        for (Notification notification : oldNotifications) {
-            if (notification.isRead()) {
-                notificationRepository.delete(notification);
-                deletedCount++;
-            }
+    public void deleteNotificationsByTaskIds(Collection<String> taskIds, String username) {
+        if (taskIds.isEmpty()) {
+            return;
         }
+        long deleted = mongoTemplate.remove(new Query(Criteria.where("taskId").in(taskIds)), Notification.class)
+                .getDeletedCount();
+        if (deleted > 0) {
+            unreadNotificationCounter.evict(username);
+            notificationStreamService.unreadChanged(username);
+        }
+        log.info("Deleted {} notifications for {} tasks", deleted, taskIds.size());
+    }
+
+    /**
+     * Delete read notifications older than the retention period in one deleteMany.
+     * In ttl mode the TTL index on readAt does this, and the sweep only covers what that
+     * index never sees: notifications read before readAt was recorded.
+     */
+    public long cleanupOldNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retentionPeriod);
+        Criteria criteria = Criteria.where("createdAt").lt(cutoff).and("read").is(true);
+        if (isTtlRetention()) {
+            criteria.and("readAt").exists(false);
+        }
+        Query query = new Query(criteria);
+        long deleted = mongoTemplate.remove(query, Notification.class).getDeletedCount();
+
+        log.info("Cleaned up {} old notifications", deleted);
+        return deleted;
+    }
 
-        log.info("Cleaned up {} old notifications", deletedCount);
+    public boolean isTtlRetention() {
+        return "ttl".equalsIgnoreCase(retentionMode);
     }
 }
\ No newline at end of file
@@ -0,0 +1,382 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.Notification;
+import com.taskmanager.task_manager_backend.model.NotificationCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events push of new notifications and unread counts.
+ *
+ * Streams are async servlet requests (SseEmitter), so an idle connection holds no
+ * thread. Writes only mark a user's stream as pending; a flusher sends the batched
+ * notifications and the latest unread count at most once per flush interval, so a
+ * burst of writes costs one event per kind. A heartbeat comment keeps proxies from
+ * closing idle streams and detects dead clients.
+ *
+ * The scheduled jobs only queue events. Each stream writes its queue on a dedicated
+ * send pool, one event at a time, so a client that stops reading holds at most one
+ * send thread; a stream whose write takes longer than the write timeout, or whose
+ * queue keeps growing, is closed and its client reconnects.
+ *
+ * Notifications are pushed only by the node that created them, and most are created
+ * by the leased outbox and due-timer jobs. Other nodes see them through a periodic
+ * batched read of the connected users' unread counters: a count that rose without a
+ * local notification sends "resync", and the client refetches its notifications.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    // Open tabs per user; the oldest stream is closed beyond this
+    private static final int MAX_STREAMS_PER_USER = 10;
+    // Notifications held for one flush; beyond this the client is told to refetch
+    private static final int MAX_PENDING = 50;
+    // Events queued on a stream that is not keeping up; beyond this it is closed
+    private static final int MAX_QUEUED_EVENTS = 16;
+    private static final int SYNC_BATCH_SIZE = 500;
+
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${notifications.stream.timeout:1800000}")
+    private long timeoutMillis = 1_800_000;
+
+    @Value("${notifications.stream.write-timeout:10000}")
+    private long writeTimeoutMillis = 10_000;
+
+    @Value("${notifications.stream.send-threads:8}")
+    private int sendThreads = 8;
+
+    private final Map<String, UserStreams> streams = new ConcurrentHashMap<>();
+    // Streams with a write queued or in progress, checked against the write timeout
+    private final Set<Stream> sending = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor sendExecutor;
+
+    @PostConstruct
+    void startSendPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // Each stream has at most one task queued, so the queue is bounded by the open streams
+        sendExecutor = new ThreadPoolExecutor(
+                sendThreads, sendThreads,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stopSendPool() {
+        sendExecutor.shutdownNow();
+    }
+
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Stream stream = new Stream(username, emitter);
+        List<Stream> evicted = new ArrayList<>(1);
+
+        // Added inside compute so a concurrent remove() cannot drop the entry in between
+        UserStreams user = streams.compute(username, (name, existing) -> {
+            UserStreams current = existing != null ? existing : new UserStreams();
+            current.connections.add(stream);
+            if (current.connections.size() > MAX_STREAMS_PER_USER) {
+                evicted.add(current.connections.remove(0));
+            }
+            return current;
+        });
+        evicted.forEach(oldest -> oldest.emitter.complete());
+
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+
+        // Start every stream with the current badge so the client needs no initial poll
+        long unread = unreadNotificationCounter.get(username);
+        synchronized (user) {
+            user.lastSentCount = unread;
+        }
+        enqueue(stream, SseEmitter.event().name("unread-count").data(Map.of("count", unread)).build());
+
+        return emitter;
+    }
+
+    public void notificationCreated(Notification notification) {
+        UserStreams user = streams.get(notification.getUsername());
+        if (user == null) {
+            return;
+        }
+        synchronized (user) {
+            if (user.pending.size() < MAX_PENDING) {
+                user.pending.add(notification);
+            } else {
+                user.resync = true;
+            }
+            user.countChanged = true;
+        }
+    }
+
+    public void unreadChanged(String username) {
+        UserStreams user = streams.get(username);
+        if (user == null) {
+            return;
+        }
+        synchronized (user) {
+            user.countChanged = true;
+        }
+    }
+
+    public int connectionCount() {
+        return streams.values().stream().mapToInt(user -> user.connections.size()).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.stream.flush-interval:250}")
+    public void flush() {
+        closeStalled();
+
+        streams.forEach((username, user) -> {
+            List<Notification> notifications;
+            boolean resync;
+            boolean countChanged;
+            Long syncedCount;
+            synchronized (user) {
+                if (user.pending.isEmpty() && !user.resync && !user.countChanged && user.syncedCount == null) {
+                    return;
+                }
+                notifications = new ArrayList<>(user.pending);
+                resync = user.resync;
+                countChanged = user.countChanged;
+                syncedCount = user.syncedCount;
+                user.pending.clear();
+                user.resync = false;
+                user.countChanged = false;
+                user.syncedCount = null;
+            }
+
+            if (resync) {
+                broadcast(user, SseEmitter.event().name("resync").data(Map.of()));
+            } else if (!notifications.isEmpty()) {
+                broadcast(user, SseEmitter.event().name("notifications")
+                        .data(notifications, MediaType.APPLICATION_JSON));
+            }
+
+            if (!countChanged && syncedCount == null) {
+                return;
+            }
+            long unread = countChanged ? unreadNotificationCounter.get(username) : syncedCount;
+            boolean changed;
+            synchronized (user) {
+                changed = unread != user.lastSentCount;
+                user.lastSentCount = unread;
+            }
+            if (changed) {
+                broadcast(user, SseEmitter.event().name("unread-count").data(Map.of("count", unread)));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-interval:25000}")
+    public void heartbeat() {
+        streams.values().forEach(user -> broadcast(user, SseEmitter.event().comment("keep-alive")));
+    }
+
+    /**
+     * Pick up unread counts changed through other nodes: one $in read of the
+     * connected users' counter documents per batch
+     */
+    @Scheduled(fixedDelayString = "${notifications.stream.sync-interval:5000}")
+    public void syncCounts() {
+        List<String> usernames = new ArrayList<>(streams.keySet());
+        for (int from = 0; from < usernames.size(); from += SYNC_BATCH_SIZE) {
+            List<String> batch = usernames.subList(from, Math.min(from + SYNC_BATCH_SIZE, usernames.size()));
+            try {
+                Query query = new Query(Criteria.where("username").in(batch));
+                query.fields().include("unread");
+                for (NotificationCounter counter : mongoTemplate.find(query, NotificationCounter.class)) {
+                    UserStreams user = streams.get(counter.getUsername());
+                    if (user == null) {
+                        continue;
+                    }
+                    synchronized (user) {
+                        if (counter.getUnread() == user.lastSentCount) {
+                            continue;
+                        }
+                        user.syncedCount = counter.getUnread();
+                        // Risen with nothing created here: a notification was pushed on another node
+                        if (counter.getUnread() > user.lastSentCount && user.lastSentCount >= 0
+                                && user.pending.isEmpty() && !user.countChanged) {
+                            user.resync = true;
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Could not sync unread counts for streams: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void broadcast(UserStreams user, SseEmitter.SseEventBuilder event) {
+        // Built once: a builder appends to itself on every build
+        Set<ResponseBodyEmitter.DataWithMediaType> items = event.build();
+        for (Stream stream : user.connections) {
+            enqueue(stream, items);
+        }
+    }
+
+    private void enqueue(Stream stream, Set<ResponseBodyEmitter.DataWithMediaType> items) {
+        boolean overflowed;
+        boolean start = false;
+        synchronized (stream) {
+            if (stream.closed) {
+                return;
+            }
+            overflowed = stream.queue.size() >= MAX_QUEUED_EVENTS;
+            if (!overflowed) {
+                stream.queue.add(items);
+                start = !stream.writing;
+                if (start) {
+                    stream.writing = true;
+                    stream.writingSince = System.currentTimeMillis();
+                }
+            }
+        }
+        if (overflowed) {
+            close(stream, new IOException("Client is not reading its notification stream"));
+            return;
+        }
+        if (!start) {
+            return;
+        }
+
+        sending.add(stream);
+        try {
+            sendExecutor.execute(() -> drain(stream));
+        } catch (RejectedExecutionException e) {
+            close(stream, new IOException("Notification stream send pool is shut down"));
+        }
+    }
+
+    /**
+     * Write a stream's queued events in order, on the send pool
+     */
+    private void drain(Stream stream) {
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> items;
+            synchronized (stream) {
+                items = stream.closed ? null : stream.queue.poll();
+                if (items == null) {
+                    stream.writing = false;
+                    sending.remove(stream);
+                    return;
+                }
+                stream.writingSince = System.currentTimeMillis();
+            }
+            try {
+                stream.emitter.send(items);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container will not always tell us
+                close(stream, e);
+            }
+        }
+    }
+
+    /**
+     * Close streams stuck in one write past the write timeout. The blocked send thread is
+     * released when the container's own socket write timeout fires.
+     */
+    private void closeStalled() {
+        long deadline = System.currentTimeMillis() - writeTimeoutMillis;
+        for (Stream stream : sending) {
+            boolean stalled;
+            synchronized (stream) {
+                stalled = stream.writing && stream.writingSince < deadline;
+            }
+            if (stalled) {
+                close(stream, new IOException("Notification stream write timed out"));
+            }
+        }
+    }
+
+    private void close(Stream stream, Exception cause) {
+        synchronized (stream) {
+            if (stream.closed) {
+                return;
+            }
+            stream.closed = true;
+            stream.queue.clear();
+        }
+        sending.remove(stream);
+        remove(stream);
+        try {
+            stream.emitter.completeWithError(cause);
+        } catch (Exception e) {
+            // Already completed by the container
+        }
+    }
+
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.username, (name, user) -> {
+            user.connections.remove(stream);
+            return user.connections.isEmpty() ? null : user;
+        });
+    }
+
+    private static final class UserStreams {
+        private final List<Stream> connections = new CopyOnWriteArrayList<>();
+        // Guarded by this
+        private final List<Notification> pending = new ArrayList<>();
+        private boolean resync;
+        private boolean countChanged;
+        private Long syncedCount;
+        private long lastSentCount = -1;
+    }
+
+    private static final class Stream {
+        private final String username;
+        private final SseEmitter emitter;
+        // Guarded by this
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayDeque<>();
+        private boolean writing;
+        private long writingSince;
+        private boolean closed;
+
+        private Stream(String username, SseEmitter emitter) {
+            this.username = username;
+            this.emitter = emitter;
+        }
+    }
+}
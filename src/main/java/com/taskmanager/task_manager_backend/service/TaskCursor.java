@@ -0,0 +1,123 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.exception.BadRequestException;
+import com.taskmanager.task_manager_backend.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (sortField, id) for task listing.
+ * Encodes the sort key plus the last row's sort value and id, so the next page
+ * starts with an indexed range scan instead of a skip.
+ */
+final class TaskCursor {
+
+    enum SortKey {
+        CREATED_AT("createdAt", Sort.Direction.DESC),
+        DUE_DATE("dueDate", Sort.Direction.ASC);
+
+        private final String field;
+        private final Sort.Direction direction;
+
+        SortKey(String field, Sort.Direction direction) {
+            this.field = field;
+            this.direction = direction;
+        }
+
+        String field() {
+            return field;
+        }
+
+        Sort sort() {
+            return Sort.by(direction, field).and(Sort.by(direction, "id"));
+        }
+
+        LocalDateTime valueOf(Task task) {
+            return this == CREATED_AT ? task.getCreatedAt() : task.getDueDate();
+        }
+
+        static SortKey from(String value) {
+            if (value == null || value.isBlank() || value.equals("createdAt")) {
+                return CREATED_AT;
+            }
+            if (value.equals("dueDate")) {
+                return DUE_DATE;
+            }
+            throw new BadRequestException("Unsupported sort '" + value + "', expected createdAt or dueDate");
+        }
+    }
+
+    private final SortKey sortKey;
+    private final LocalDateTime value;
+    private final String id;
+
+    TaskCursor(SortKey sortKey, LocalDateTime value, String id) {
+        this.sortKey = sortKey;
+        this.value = value;
+        this.id = id;
+    }
+
+    static TaskCursor after(SortKey sortKey, Task lastTask) {
+        return new TaskCursor(sortKey, sortKey.valueOf(lastTask), lastTask.getId());
+    }
+
+    String encode() {
+        String millis = value != null
+                ? Long.toString(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                : "";
+        String raw = sortKey.name() + "|" + millis + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskCursor decode(String cursor, SortKey expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            SortKey sortKey = SortKey.valueOf(parts[0]);
+            if (sortKey != expectedSortKey) {
+                throw new BadRequestException("Cursor was issued for a different sort order");
+            }
+            LocalDateTime value = parts[1].isEmpty()
+                    ? null
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[1])), ZoneId.systemDefault());
+            return new TaskCursor(sortKey, value, parts[2]);
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Rows strictly after this cursor in (field, id) order.
+     * Mongo sorts null first ascending and last descending; both cases are handled.
+     */
+    Criteria toCriteria() {
+        String field = sortKey.field();
+
+        if (sortKey.direction == Sort.Direction.ASC) {
+            if (value == null) {
+                return new Criteria().orOperator(
+                        Criteria.where(field).is(null).and("id").gt(id),
+                        Criteria.where(field).ne(null));
+            }
+            return new Criteria().orOperator(
+                    Criteria.where(field).gt(value),
+                    Criteria.where(field).is(value).and("id").gt(id));
+        }
+
+        if (value == null) {
+            return Criteria.where(field).is(null).and("id").lt(id);
+        }
+        return new Criteria().orOperator(
+                Criteria.where(field).lt(value),
+                Criteria.where(field).is(value).and("id").lt(id),
+                Criteria.where(field).is(null));
+    }
+}
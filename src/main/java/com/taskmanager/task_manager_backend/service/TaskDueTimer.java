@@ -0,0 +1,403 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.Notification;
+import com.taskmanager.task_manager_backend.model.NotificationPriority;
+import com.taskmanager.task_manager_backend.model.NotificationType;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import com.taskmanager.task_manager_backend.scheduler.SchedulerCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fires due-soon and overdue notifications within a tick of the deadline.
+ *
+ * Open tasks due before a moving horizon are held in memory as two timers each
+ * (due-soon a day before, overdue at the deadline), ordered by fire time. The
+ * horizon is advanced by an indexed dueDate range query, and task writes keep the
+ * timers current, so the collection is never scanned in full. Tasks due beyond the
+ * horizon are left to a later refill.
+ *
+ * Refills run on the lease holder, or per username partition when scheduling is
+ * partitioned. Every node also arms the tasks written through it, so a due date moved
+ * earlier on one node fires there without waiting for the refilling node. Those timers
+ * live only on the writing node, so the refilling node also rescans its loaded range
+ * for tasks written since its last rescan; the notification dedupe key keeps the
+ * overlap from producing duplicates.
+ */
+@Component
+public class TaskDueTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDueTimer.class);
+
+    private static final Duration DUE_SOON_WINDOW = Duration.ofHours(24);
+    private static final String REFILL_LEASE = "due-timers";
+    // updatedAt comes from the writing node's clock
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private static final Comparator<Timer> BY_FIRE_TIME = Comparator
+            .comparing((Timer timer) -> timer.fireAt)
+            .thenComparing(timer -> timer.taskId)
+            .thenComparing(timer -> timer.type);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private SchedulerCoordinator schedulerCoordinator;
+
+    @Value("${tasks.due-timer.horizon:PT48H}")
+    private Duration horizon = Duration.ofHours(48);
+
+    @Value("${tasks.due-timer.catch-up:PT1H}")
+    private Duration catchUp = Duration.ofHours(1);
+
+    // Guarded by this
+    private final TreeSet<Timer> timers = new TreeSet<>(BY_FIRE_TIME);
+    private final Map<String, List<Timer>> timersByTask = new HashMap<>();
+    private LocalDateTime loadedUntil;
+    private LocalDateTime rescannedAt;
+    private long loadedMembership;
+
+    /**
+     * Track a newly created task
+     */
+    public void schedule(Task task) {
+        LocalDateTime dueDate = task.getDueDate();
+        if (dueDate == null || task.getStatus() == TaskStatus.COMPLETED) {
+            return;
+        }
+
+        synchronized (this) {
+            // Beyond what has been loaded (or the horizon, on a node not refilling): a refill will pick it up
+            LocalDateTime bound = loadedUntil != null ? loadedUntil : LocalDateTime.now().plus(horizon);
+            if (!dueDate.isBefore(bound)) {
+                return;
+            }
+            add(task.getId(), dueDate);
+        }
+    }
+
+    /**
+     * Re-arm a task after a write, if its deadline or completion changed.
+     * Timers whose time has already passed fire on the next tick, so moving a due
+     * date into the past notifies straight away.
+     */
+    public void reschedule(Task task, LocalDateTime previousDueDate, TaskStatus previousStatus) {
+        boolean wasOpen = previousStatus != TaskStatus.COMPLETED;
+        boolean isOpen = task.getStatus() != TaskStatus.COMPLETED;
+        if (Objects.equals(previousDueDate, task.getDueDate()) && wasOpen == isOpen) {
+            return;
+        }
+
+        cancel(task.getId());
+        schedule(task);
+    }
+
+    public synchronized void cancel(String taskId) {
+        List<Timer> removed = timersByTask.remove(taskId);
+        if (removed != null) {
+            removed.forEach(timers::remove);
+        }
+    }
+
+    public synchronized int size() {
+        return timersByTask.size();
+    }
+
+    /**
+     * Move the horizon forward with one range query over (dueDate, status).
+     * The first run also picks up deadlines missed in the catch-up window before startup.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tasks.due-timer.refill-interval:3600000}")
+    public void refill() {
+        if (!schedulerCoordinator.shouldRun(REFILL_LEASE)) {
+            synchronized (this) {
+                loadedUntil = null;
+            }
+            return;
+        }
+
+        LocalDateTime from;
+        LocalDateTime started = LocalDateTime.now();
+        boolean fromScratch;
+        synchronized (this) {
+            // Partitions moved: load this node's new share from scratch
+            long membership = schedulerCoordinator.getMembershipVersion();
+            if (membership != loadedMembership) {
+                loadedUntil = null;
+                loadedMembership = membership;
+            }
+            fromScratch = loadedUntil == null;
+            from = fromScratch ? started.minus(catchUp) : loadedUntil;
+        }
+        LocalDateTime until = started.plus(horizon);
+        if (!from.isBefore(until)) {
+            return;
+        }
+
+        try {
+            Query query = new Query(Criteria.where("dueDate").gte(from).lt(until)
+                    .and("status").ne(TaskStatus.COMPLETED));
+            query.fields().include("username", "dueDate");
+            List<Task> tasks = mongoTemplate.find(query, Task.class).stream()
+                    .filter(task -> schedulerCoordinator.ownsUsername(task.getUsername()))
+                    .toList();
+
+            synchronized (this) {
+                for (Task task : tasks) {
+                    add(task.getId(), task.getDueDate());
+                }
+                loadedUntil = until;
+                if (fromScratch) {
+                    rescannedAt = started;
+                }
+            }
+            log.info("Due timer loaded {} tasks due before {} ({} tracked)", tasks.size(), until, size());
+        } catch (Exception e) {
+            log.warn("Due timer refill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Arm tasks written through other nodes since the last rescan whose due date falls
+     * in the range already loaded here. Their timers were armed only on the writing
+     * node and are lost if it restarts; the refill never reads that range again.
+     * One range query over (dueDate, status), filtered on updatedAt.
+     */
+    @Scheduled(initialDelayString = "${tasks.due-timer.rescan-interval:300000}",
+            fixedDelayString = "${tasks.due-timer.rescan-interval:300000}")
+    public void rescan() {
+        if (!schedulerCoordinator.shouldRun(REFILL_LEASE)) {
+            return;
+        }
+
+        LocalDateTime until;
+        LocalDateTime since;
+        synchronized (this) {
+            until = loadedUntil;
+            since = rescannedAt;
+        }
+        if (until == null || since == null) {
+            return;
+        }
+
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            Query query = new Query(Criteria.where("dueDate").gte(since.minus(catchUp)).lt(until)
+                    .and("status").ne(TaskStatus.COMPLETED)
+                    .and("updatedAt").gte(since.minus(CLOCK_SKEW)));
+            query.fields().include("username", "dueDate");
+            List<Task> tasks = mongoTemplate.find(query, Task.class).stream()
+                    .filter(task -> schedulerCoordinator.ownsUsername(task.getUsername()))
+                    .toList();
+
+            synchronized (this) {
+                // Lost the lease, or a refill from scratch in the meantime has read all of it
+                if (loadedUntil == null || !Objects.equals(rescannedAt, since)) {
+                    return;
+                }
+                for (Task task : tasks) {
+                    if (task.getDueDate().isBefore(loadedUntil)) {
+                        add(task.getId(), task.getDueDate());
+                    }
+                }
+                rescannedAt = started;
+            }
+            log.debug("Due timer rescan armed {} recently written tasks", tasks.size());
+        } catch (Exception e) {
+            log.warn("Due timer rescan failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fire every timer that has come due. The tasks are read back in one $in query
+     * so a notification always reflects the current title, priority and status.
+     */
+    @Scheduled(fixedDelayString = "${tasks.due-timer.tick-interval:1000}")
+    public void tick() {
+        List<Timer> due = pollDue(LocalDateTime.now());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> ids = due.stream().map(timer -> timer.taskId).distinct().toList();
+            Map<String, Task> tasks = mongoTemplate.find(new Query(Criteria.where("id").in(ids)), Task.class)
+                    .stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Notification> notifications = new ArrayList<>();
+            for (Timer timer : due) {
+                Task task = tasks.get(timer.taskId);
+                if (task == null || task.getStatus() == TaskStatus.COMPLETED || task.getDueDate() == null) {
+                    continue;
+                }
+                if (!task.getDueDate().equals(timer.dueDate)) {
+                    // A write raced with a refill; re-arm from what is stored
+                    cancel(task.getId());
+                    schedule(task);
+                    continue;
+                }
+
+                notifications.add(timer.type == NotificationType.TASK_OVERDUE
+                        ? buildOverdueNotification(task, now)
+                        : buildDueSoonNotification(task, now));
+            }
+
+            int created = notificationService.upsertNotifications(notifications);
+            log.info("Due timer fired {} notifications ({} new)", notifications.size(), created);
+        } catch (Exception e) {
+            log.warn("Due timer could not fire {} timers, will retry: {}", due.size(), e.getMessage());
+            synchronized (this) {
+                for (Timer timer : due) {
+                    // Put back unless a write has re-armed the task in the meantime
+                    List<Timer> current = timersByTask.computeIfAbsent(timer.taskId, id -> new ArrayList<>(2));
+                    if (current.isEmpty() || current.get(0).dueDate.equals(timer.dueDate)) {
+                        current.add(timer);
+                        timers.add(timer);
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized List<Timer> pollDue(LocalDateTime now) {
+        List<Timer> due = new ArrayList<>();
+        while (!timers.isEmpty() && !timers.first().fireAt.isAfter(now)) {
+            Timer timer = timers.pollFirst();
+            due.add(timer);
+
+            List<Timer> remaining = timersByTask.get(timer.taskId);
+            remaining.remove(timer);
+            if (remaining.isEmpty()) {
+                timersByTask.remove(timer.taskId);
+            }
+        }
+        return due;
+    }
+
+    // Caller holds the lock
+    private void add(String taskId, LocalDateTime dueDate) {
+        List<Timer> existing = timersByTask.get(taskId);
+        if (existing != null) {
+            if (existing.get(0).dueDate.equals(dueDate)) {
+                return;
+            }
+            existing.forEach(timers::remove);
+        }
+
+        List<Timer> armed = new ArrayList<>(2);
+        if (LocalDateTime.now().isBefore(dueDate)) {
+            armed.add(new Timer(taskId, dueDate, dueDate.minus(DUE_SOON_WINDOW), NotificationType.TASK_DUE_SOON));
+        }
+        armed.add(new Timer(taskId, dueDate, dueDate, NotificationType.TASK_OVERDUE));
+
+        timers.addAll(armed);
+        timersByTask.put(taskId, armed);
+    }
+
+    private Notification buildOverdueNotification(Task task, LocalDateTime now) {
+        LocalDateTime dueDate = task.getDueDate();
+        long hoursOverdue = ChronoUnit.HOURS.between(dueDate, now);
+        long daysOverdue = hoursOverdue / 24;
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("taskTitle", task.getTitle());
+        metadata.put("taskPriority", task.getPriority().toString());
+        metadata.put("dueDate", dueDate.toString());
+        metadata.put("hoursOverdue", hoursOverdue);
+        metadata.put("daysOverdue", daysOverdue);
+
+        String message;
+        if (daysOverdue >= 1) {
+            message = String.format("%s is overdue by %d day(s)", task.getTitle(), daysOverdue);
+        } else if (hoursOverdue >= 1) {
+            message = String.format("%s is overdue by %d hour(s)", task.getTitle(), hoursOverdue);
+        } else {
+            message = task.getTitle() + " is now overdue";
+        }
+
+        Notification notification = notificationService.buildTaskNotification(
+                task.getUsername(),
+                task.getId(),
+                NotificationType.TASK_OVERDUE,
+                NotificationPriority.URGENT,
+                "Task Overdue!",
+                message,
+                metadata
+        );
+
+        // One per task, kind and deadline, however often the timer fires
+        notification.setDedupeKey(NotificationService.dedupeKey(task.getId(), NotificationType.TASK_OVERDUE, dueDate));
+        return notification;
+    }
+
+    private Notification buildDueSoonNotification(Task task, LocalDateTime now) {
+        LocalDateTime dueDate = task.getDueDate();
+        long hoursUntilDue = ChronoUnit.HOURS.between(now, dueDate);
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("taskTitle", task.getTitle());
+        metadata.put("taskPriority", task.getPriority().toString());
+        metadata.put("dueDate", dueDate.toString());
+        metadata.put("hoursUntilDue", hoursUntilDue);
+
+        String message;
+        if (dueDate.toLocalDate().equals(now.toLocalDate())) {
+            message = task.getTitle() + " is due today!";
+        } else {
+            message = task.getTitle() + " is due tomorrow";
+        }
+
+        Notification notification = notificationService.buildTaskNotification(
+                task.getUsername(),
+                task.getId(),
+                NotificationType.TASK_DUE_SOON,
+                NotificationPriority.HIGH,
+                "Task Due Soon",
+                message,
+                metadata
+        );
+        notification.setDedupeKey(NotificationService.dedupeKey(task.getId(), NotificationType.TASK_DUE_SOON, dueDate));
+        return notification;
+    }
+
+    private static final class Timer {
+        final String taskId;
+        final LocalDateTime dueDate;
+        final LocalDateTime fireAt;
+        final NotificationType type;
+
+        Timer(String taskId, LocalDateTime dueDate, LocalDateTime fireAt, NotificationType type) {
+            this.taskId = taskId;
+            this.dueDate = dueDate;
+            this.fireAt = fireAt;
+            this.type = type;
+        }
+    }
+}
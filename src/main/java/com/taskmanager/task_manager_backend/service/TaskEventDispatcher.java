@@ -0,0 +1,168 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskEvent;
+import com.taskmanager.task_manager_backend.scheduler.SchedulerCoordinator;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Drains task events to the TaskEventHandlers in batches.
+ *
+ * Pending events are found through a partial index on the tasks' outbox arrays
+ * (plus the task_events collection for deletions), handed to every handler, and only
+ * then removed: $pull of the delivered event ids, so events added by writes in the
+ * meantime stay queued. Deletion events are delivered once their task is gone. A failure leaves the batch in place for the next run.
+ * One node drains at a time, under a scheduler lease.
+ */
+@Component
+public class TaskEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventDispatcher.class);
+
+    private static final String LEASE = "task-outbox";
+    // Batches per run, so one run cannot hold the scheduler thread indefinitely
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SchedulerCoordinator schedulerCoordinator;
+
+    @Autowired
+    private List<TaskEventHandler> handlers;
+
+    @Value("${tasks.outbox.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${tasks.outbox.deletion-grace:PT1M}")
+    private Duration deletionGrace = Duration.ofMinutes(1);
+
+    @Scheduled(fixedDelayString = "${tasks.outbox.poll-interval:500}")
+    public void dispatch() {
+        if (!schedulerCoordinator.tryAcquire(LEASE)) {
+            return;
+        }
+
+        try {
+            drain(this::dispatchOutboxes);
+            drain(this::dispatchDeletions);
+        } catch (Exception e) {
+            log.warn("Task event dispatch failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void drain(IntSupplier batch) {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            // A short batch means nothing is left
+            if (batch.getAsInt() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * One batch of tasks with pending events; returns how many tasks it covered
+     */
+    private int dispatchOutboxes() {
+        Query query = new Query(Criteria.where("outbox.occurredAt").exists(true)).limit(batchSize);
+        query.fields().include("outbox");
+        List<Task> tasks = mongoTemplate.find(query, Task.class);
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        List<TaskEvent> events = new ArrayList<>();
+        tasks.forEach(task -> events.addAll(task.getOutbox()));
+        deliver(events);
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        for (Task task : tasks) {
+            // Embedded ids are written as ObjectIds, like any other id property; match either form
+            List<Object> delivered = new ArrayList<>();
+            for (TaskEvent event : task.getOutbox()) {
+                delivered.add(event.getId());
+                if (ObjectId.isValid(event.getId())) {
+                    delivered.add(new ObjectId(event.getId()));
+                }
+            }
+            ops.updateOne(new Query(Criteria.where("id").is(task.getId())),
+                    new Update().pull("outbox", new Document("_id", new Document("$in", delivered))));
+        }
+        ops.execute();
+
+        log.debug("Dispatched {} task events from {} tasks", events.size(), tasks.size());
+        return tasks.size();
+    }
+
+    /**
+     * One batch of deletion events, oldest first; returns how many it settled.
+     *
+     * A deletion event is written before its task is removed. While the task still
+     * exists the event stays pending; once it is older than the grace period the
+     * removal evidently failed, and the event is dropped undelivered.
+     */
+    private int dispatchDeletions() {
+        Query query = new Query().with(Sort.by("occurredAt")).limit(batchSize);
+        List<TaskEvent> events = mongoTemplate.find(query, TaskEvent.class);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Query existing = new Query(Criteria.where("id").in(events.stream().map(TaskEvent::getTaskId).toList()));
+        existing.fields().include("id");
+        Set<String> remaining = mongoTemplate.find(existing, Task.class).stream()
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+
+        LocalDateTime abandonedBefore = LocalDateTime.now().minus(deletionGrace);
+        List<TaskEvent> deleted = new ArrayList<>();
+        List<String> settled = new ArrayList<>();
+        for (TaskEvent event : events) {
+            if (!remaining.contains(event.getTaskId())) {
+                deleted.add(event);
+                settled.add(event.getId());
+            } else if (event.getOccurredAt().isBefore(abandonedBefore)) {
+                settled.add(event.getId());
+            }
+        }
+
+        if (!deleted.isEmpty()) {
+            deliver(deleted);
+        }
+        if (!settled.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("id").in(settled)), TaskEvent.class);
+        }
+
+        log.debug("Dispatched {} task deletion events, dropped {} for tasks not removed",
+                deleted.size(), settled.size() - deleted.size());
+        return settled.size();
+    }
+
+    private void deliver(List<TaskEvent> events) {
+        for (TaskEventHandler handler : handlers) {
+            handler.handle(events);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.TaskEvent;
+
+import java.util.List;
+
+/**
+ * A consumer of task events, called by TaskEventDispatcher with batches in the
+ * order the events were written per task.
+ *
+ * Delivery is at least once: a batch is acknowledged only after every handler has
+ * returned, and is handed over again after a failure or a crash, so handlers must
+ * tolerate seeing an event twice.
+ */
+public interface TaskEventHandler {
+
+    void handle(List<TaskEvent> events);
+}
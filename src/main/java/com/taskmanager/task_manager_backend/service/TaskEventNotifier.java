@@ -0,0 +1,117 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.Notification;
+import com.taskmanager.task_manager_backend.model.NotificationPriority;
+import com.taskmanager.task_manager_backend.model.NotificationType;
+import com.taskmanager.task_manager_backend.model.TaskEvent;
+import com.taskmanager.task_manager_backend.model.TaskEventType;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns task events into notifications: one bulk upsert for a batch of created and
+ * completed tasks, one deleteMany per user for deleted ones.
+ * Notifications are keyed by event id, so a redelivered event changes nothing.
+ */
+@Component
+@Slf4j
+public class TaskEventNotifier implements TaskEventHandler {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Override
+    public void handle(List<TaskEvent> events) {
+        List<Notification> notifications = new ArrayList<>();
+        Map<String, Set<String>> deletedByUser = new LinkedHashMap<>();
+
+        for (TaskEvent event : events) {
+            Notification notification = null;
+            if (event.getType() == TaskEventType.CREATED) {
+                notification = buildTaskCreatedNotification(event);
+            } else if (event.getType() == TaskEventType.COMPLETED) {
+                notification = buildTaskCompletedNotification(event);
+            } else if (event.getType() == TaskEventType.DELETED) {
+                deletedByUser.computeIfAbsent(event.getUsername(), u -> new HashSet<>()).add(event.getTaskId());
+            }
+
+            if (notification != null) {
+                notification.setDedupeKey(event.getTaskId() + ":" + notification.getType() + ":" + event.getId());
+                notifications.add(notification);
+            }
+        }
+
+        if (!notifications.isEmpty()) {
+            int created = notificationService.upsertNotifications(notifications);
+            log.info("Created {} task notifications from {} events", created, events.size());
+        }
+        deletedByUser.forEach((username, taskIds) -> notificationService.deleteNotificationsByTaskIds(taskIds, username));
+    }
+
+    /**
+     * Notification for a newly created task, or null if it doesn't warrant one
+     */
+    private Notification buildTaskCreatedNotification(TaskEvent event) {
+        // Only notify for high priority tasks or tasks due soon
+        boolean isHighPriority = event.getPriority() == TaskPriority.HIGH;
+        boolean isDueSoon = event.getDueDate() != null &&
+                ChronoUnit.HOURS.between(event.getOccurredAt(), event.getDueDate()) <= 72; // 3 days
+
+        if (!isHighPriority && !isDueSoon) {
+            return null;
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("taskTitle", event.getTitle());
+        metadata.put("taskPriority", String.valueOf(event.getPriority()));
+        if (event.getDueDate() != null) {
+            metadata.put("dueDate", event.getDueDate().toString());
+        }
+
+        NotificationPriority priority = isHighPriority ?
+                NotificationPriority.HIGH :
+                NotificationPriority.MEDIUM;
+
+        String message = isHighPriority ?
+                "New high priority task created" :
+                "New task created - Due soon";
+
+        return notificationService.buildTaskNotification(
+                event.getUsername(),
+                event.getTaskId(),
+                NotificationType.SYSTEM,
+                priority,
+                "Task Created: " + event.getTitle(),
+                message,
+                metadata
+        );
+    }
+
+    private Notification buildTaskCompletedNotification(TaskEvent event) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("taskTitle", event.getTitle());
+        metadata.put("taskPriority", String.valueOf(event.getPriority()));
+        metadata.put("previousStatus", String.valueOf(event.getPreviousStatus()));
+
+        return notificationService.buildTaskNotification(
+                event.getUsername(),
+                event.getTaskId(),
+                NotificationType.TASK_COMPLETED,
+                NotificationPriority.LOW,
+                "Task Completed! 🎉",
+                "You've completed: " + event.getTitle(),
+                metadata
+        );
+    }
+}
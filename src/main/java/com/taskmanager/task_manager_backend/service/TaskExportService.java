@@ -0,0 +1,164 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.task_manager_backend.exception.BadRequestException;
+import com.taskmanager.task_manager_backend.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's tasks straight from a Mongo cursor to the response.
+ * Only one cursor batch is in memory at a time; a slow client blocks the
+ * socket write, which in turn stops the cursor from fetching (backpressure).
+ */
+@Service
+public class TaskExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskExportService.class);
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final int FLUSH_EVERY = 500;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static final String CSV_HEADER =
+            "id,title,description,status,priority,dueDate,createdAt,updatedAt,category,tags,boardId,columnId\n";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            if (value == null || value.equalsIgnoreCase("ndjson") || value.equalsIgnoreCase("json")) {
+                return NDJSON;
+            }
+            if (value.equalsIgnoreCase("csv")) {
+                return CSV;
+            }
+            throw new BadRequestException("Unsupported export format '" + value + "', expected ndjson or csv");
+        }
+    }
+
+    public StreamingResponseBody export(String username, Format format) {
+        // Built before the body runs so bad input fails with a normal error response
+        Query query = new Query(Criteria.where("username").is(username))
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+
+        return outputStream -> {
+            long count = 0;
+            OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+
+            try (Stream<Task> tasks = mongoTemplate.stream(query, Task.class)) {
+                if (format == Format.CSV) {
+                    count = writeCsv(tasks, out);
+                } else {
+                    count = writeNdjson(tasks, out);
+                }
+            } finally {
+                out.flush();
+            }
+
+            log.info("Exported {} tasks as {} for user: {}", count, format, username);
+        };
+    }
+
+    private long writeNdjson(Stream<Task> tasks, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long count = 0;
+        for (Task task : (Iterable<Task>) tasks::iterator) {
+            writer.writeValue(out, task);
+            out.write('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                out.flush();
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Stream<Task> tasks, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(CSV_HEADER);
+
+        long count = 0;
+        StringBuilder line = new StringBuilder(256);
+        for (Task task : (Iterable<Task>) tasks::iterator) {
+            line.setLength(0);
+            appendCsv(line, task.getId()).append(',');
+            appendCsv(line, task.getTitle()).append(',');
+            appendCsv(line, task.getDescription()).append(',');
+            appendCsv(line, task.getStatus()).append(',');
+            appendCsv(line, task.getPriority()).append(',');
+            appendCsv(line, task.getDueDate()).append(',');
+            appendCsv(line, task.getCreatedAt()).append(',');
+            appendCsv(line, task.getUpdatedAt()).append(',');
+            appendCsv(line, task.getCategory()).append(',');
+            appendCsv(line, task.getTags() != null ? String.join(";", task.getTags()) : null).append(',');
+            appendCsv(line, task.getBoardId()).append(',');
+            appendCsv(line, task.getColumnId()).append('\n');
+            writer.write(line.toString());
+
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static StringBuilder appendCsv(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+
+        String text = value.toString();
+        boolean needsQuotes = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -11,7 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskMigrationService {
@@ -27,6 +31,9 @@ public class TaskMigrationService {
     @Autowired
     private KanbanService kanbanService;
 
+    @Autowired
+    private BoardRevisionService boardRevisionService;
+
     /**
      * Migrate all tasks without a board to the user's default board
      */
@@ -43,13 +50,20 @@ public class TaskMigrationService {
 
         KanbanBoard board = getOrCreateDefaultBoard(username);
 
+        // Migrated tasks go below each column's existing cards
+        Map<String, Long> countByColumn = unboardedTasks.stream()
+                .collect(Collectors.groupingBy(task -> mapStatusToColumnId(task.getStatus()), Collectors.counting()));
+        Map<String, Iterator<String>> ranksByColumn = new HashMap<>();
+        countByColumn.forEach((columnId, count) -> ranksByColumn.put(columnId,
+                kanbanService.ranksAtEnd(username, board.getId(), columnId, count.intValue()).iterator()));
+
         int migratedCount = 0;
         for (Task task : unboardedTasks) {
             String columnId = mapStatusToColumnId(task.getStatus());
 
             task.setBoardId(board.getId());
             task.setColumnId(columnId);
-            task.setPositionInColumn(migratedCount);
+            task.setRank(ranksByColumn.get(columnId).next());
             task.setUpdatedAt(java.time.LocalDateTime.now());
 
             taskRepository.save(task);
@@ -57,6 +71,7 @@ public class TaskMigrationService {
 
             logger.debug("Migrated task '{}' to column '{}'", task.getTitle(), columnId);
         }
+        boardRevisionService.cardsChanged(username, unboardedTasks);
 
         logger.info("Successfully migrated {} tasks for user: {}", migratedCount, username);
         return migratedCount;
@@ -86,10 +101,12 @@ public class TaskMigrationService {
 
         task.setBoardId(board.getId());
         task.setColumnId(columnId);
-        task.setPositionInColumn(0);
+        task.setRank(kanbanService.rankAtStart(username, board.getId(), columnId));
         task.setUpdatedAt(java.time.LocalDateTime.now());
 
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        boardRevisionService.cardsChanged(username, savedTask);
+        return savedTask;
     }
 
     /**
@@ -104,12 +121,16 @@ public class TaskMigrationService {
             throw new RuntimeException("Task is not on any board");
         }
 
+        String boardId = task.getBoardId();
         task.setBoardId(null);
         task.setColumnId(null);
         task.setPositionInColumn(null);
+        task.setRank(null);
         task.setUpdatedAt(java.time.LocalDateTime.now());
 
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        boardRevisionService.cardChanged(username, boardId, savedTask.getId());
+        return savedTask;
     }
 
     /**
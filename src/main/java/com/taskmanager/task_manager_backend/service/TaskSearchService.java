@@ -0,0 +1,224 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.dto.TaskPage;
+import com.taskmanager.task_manager_backend.exception.BadRequestException;
+import com.taskmanager.task_manager_backend.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Task search backed by indexes instead of regex scans.
+ *
+ * Keyword search uses a weighted text index (title > tags > category > description)
+ * prefixed by username, so results are ranked by relevance and only the caller's
+ * tasks are considered. Typeahead uses anchored prefix matches on the searchTerms
+ * array, which the (username, searchTerms) index answers with a range scan.
+ * Both indexes are declared in MongoIndexCatalog.
+ */
+@Service
+public class TaskSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_TERMS = 64;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final Pattern WORD_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile boolean backfillDone;
+
+    /**
+     * Relevance-ranked keyword search, optionally limited to one board.
+     * Pages are addressed by an opaque cursor; relevance order has no stable key
+     * to seek on, so the cursor carries an offset.
+     */
+    public TaskPage search(String username, String keyword, String boardId, String cursor, Integer limit) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new BadRequestException("Search keyword cannot be empty");
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = decodeOffset(cursor);
+
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(keyword.trim()))
+                .sortByScore()
+                .addCriteria(Criteria.where("username").is(username));
+        if (boardId != null && !boardId.isBlank()) {
+            query.addCriteria(Criteria.where("boardId").is(boardId));
+        }
+        query.skip(offset).limit(pageSize + 1);
+
+        List<Task> tasks = mongoTemplate.find(query, Task.class);
+
+        boolean hasMore = tasks.size() > pageSize;
+        if (hasMore) {
+            tasks = tasks.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? encodeOffset(offset + pageSize) : null;
+        return new TaskPage(tasks, nextCursor, hasMore, pageSize);
+    }
+
+    /**
+     * Typeahead: tasks having a word that starts with the last word typed and
+     * containing every earlier word. Returns a light projection for dropdowns.
+     */
+    public List<Task> suggest(String username, String prefix, Integer limit) {
+        List<String> words = wordsOf(prefix);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        int size = limit == null ? DEFAULT_SUGGESTIONS : Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+
+        // Words only contain letters and digits, so the anchored regex needs no escaping
+        // and Mongo turns it into tight index bounds
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("username").is(username));
+        criteria.add(Criteria.where("searchTerms").regex("^" + words.get(words.size() - 1)));
+        if (words.size() > 1) {
+            criteria.add(Criteria.where("searchTerms").all(words.subList(0, words.size() - 1)));
+        }
+
+        Query query = new Query(new Criteria().andOperator(criteria)).limit(size);
+        query.fields().include("title", "status", "priority", "dueDate", "boardId");
+
+        return mongoTemplate.find(query, Task.class);
+    }
+
+    /**
+     * Lower-cased, de-duplicated words of title, tags and category
+     */
+    public static List<String> searchTermsOf(Task task) {
+        Set<String> terms = new LinkedHashSet<>();
+        addWords(terms, task.getTitle());
+        if (task.getTags() != null) {
+            task.getTags().forEach(tag -> addWords(terms, tag));
+        }
+        addWords(terms, task.getCategory());
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Fill searchTerms on tasks saved before typeahead existed.
+     * Retries on a fixed delay so a database outage at boot is not fatal.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tasks.search.backfill-retry-interval:60000}")
+    public void backfill() {
+        if (backfillDone) {
+            return;
+        }
+
+        try {
+            long filled = backfillSearchTerms();
+            backfillDone = true;
+
+            if (filled > 0) {
+                log.info("Filled search terms on {} existing tasks", filled);
+            }
+        } catch (Exception e) {
+            log.warn("Task search terms backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private long backfillSearchTerms() {
+        Query missing = new Query(Criteria.where("searchTerms").exists(false))
+                .cursorBatchSize(BACKFILL_BATCH_SIZE);
+        missing.fields().include("title", "tags", "category");
+
+        long filled = 0;
+        List<Task> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        try (Stream<Task> tasks = mongoTemplate.stream(missing, Task.class)) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                batch.add(task);
+                if (batch.size() == BACKFILL_BATCH_SIZE) {
+                    filled += writeSearchTerms(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            filled += writeSearchTerms(batch);
+        }
+        return filled;
+    }
+
+    private int writeSearchTerms(List<Task> tasks) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        for (Task task : tasks) {
+            ops.updateOne(new Query(Criteria.where("id").is(task.getId())),
+                    new Update().set("searchTerms", searchTermsOf(task)));
+        }
+        return ops.execute().getModifiedCount();
+    }
+
+    private static List<String> wordsOf(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(WORD_SPLIT.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private static void addWords(Set<String> terms, String text) {
+        for (String word : wordsOf(text)) {
+            if (terms.size() >= MAX_TERMS) {
+                return;
+            }
+            terms.add(word);
+        }
+    }
+
+    private static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("o" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("o")) {
+                throw new IllegalArgumentException();
+            }
+            int offset = Integer.parseInt(raw.substring(1));
+            if (offset < 0) {
+                throw new IllegalArgumentException();
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
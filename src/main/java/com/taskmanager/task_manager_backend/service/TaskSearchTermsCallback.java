@@ -0,0 +1,20 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.Task;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes Task.searchTerms whenever a task document is written from an entity
+ * (save, insert, bulk insert and replace), so typeahead never sees stale words.
+ * Field-level $set updates that touch title, tags or category must refresh it themselves.
+ */
+@Component
+public class TaskSearchTermsCallback implements BeforeConvertCallback<Task> {
+
+    @Override
+    public Task onBeforeConvert(Task task, String collection) {
+        task.setSearchTerms(TaskSearchService.searchTermsOf(task));
+        return task;
+    }
+}
@@ -1,24 +1,60 @@
 package com.taskmanager.task_manager_backend.service;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.mongodb.bulk.BulkWriteError;
+import com.taskmanager.task_manager_backend.dto.BulkItemResult;
+import com.taskmanager.task_manager_backend.dto.BulkTaskResult;
+import com.taskmanager.task_manager_backend.dto.TaskPage;
+import com.taskmanager.task_manager_backend.exception.BadRequestException;
+import com.taskmanager.task_manager_backend.exception.TaskConflictException;
 import com.taskmanager.task_manager_backend.exception.TaskNotFoundException;
-import com.taskmanager.task_manager_backend.model.Notification;
-import com.taskmanager.task_manager_backend.model.NotificationType;
-import com.taskmanager.task_manager_backend.model.NotificationPriority;
 import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskEvent;
+import com.taskmanager.task_manager_backend.model.TaskEventType;
 import com.taskmanager.task_manager_backend.model.TaskPriority;
 import com.taskmanager.task_manager_backend.model.TaskStatus;
 import com.taskmanager.task_manager_backend.repository.TaskRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -28,7 +64,49 @@ public class TaskService {
     private TaskRepository taskRepository;
 
     @Autowired
-    private NotificationService notificationService;
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskDueTimer taskDueTimer;
+
+    @Autowired
+    private BoardRevisionService boardRevisionService;
+
+    @Autowired
+    private KanbanService kanbanService;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BULK_SIZE = 500;
+    private static final String CONFLICT_ERROR = "Task was modified concurrently";
+
+    private static final TypeFactory TYPES = TypeFactory.defaultInstance();
+
+    // Fields a merge patch may change, with the type each JSON value converts to
+    private static final Map<String, JavaType> PATCHABLE_FIELDS = Map.of(
+            "title", TYPES.constructType(String.class),
+            "description", TYPES.constructType(String.class),
+            "status", TYPES.constructType(TaskStatus.class),
+            "priority", TYPES.constructType(TaskPriority.class),
+            "dueDate", TYPES.constructType(LocalDateTime.class),
+            "category", TYPES.constructType(String.class),
+            "tags", TYPES.constructCollectionType(List.class, String.class));
+
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of(
+            "id", "title", "description", "status", "priority", "dueDate", "createdAt", "updatedAt",
+            "category", "tags", "boardId", "columnId", "positionInColumn");
 
 
     // Get all tasks for a specific user
@@ -36,6 +114,52 @@ public class TaskService {
         return taskRepository.findByUsername(username);
     }
 
+    /**
+     * Keyset-paginated task listing with optional field projection.
+     * Cost per page depends only on the page size, not on how many tasks the user owns.
+     */
+    public TaskPage getTasksPage(String username, String sort, String cursor, Integer limit, String fields) {
+        TaskCursor.SortKey sortKey = TaskCursor.SortKey.from(sort);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Criteria criteria = Criteria.where("username").is(username);
+        if (cursor != null && !cursor.isBlank()) {
+            criteria = new Criteria().andOperator(criteria, TaskCursor.decode(cursor, sortKey).toCriteria());
+        }
+
+        Query query = new Query(criteria)
+                .with(sortKey.sort())
+                .limit(pageSize + 1);
+
+        if (fields != null && !fields.isBlank()) {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (!PROJECTABLE_FIELDS.contains(name)) {
+                    throw new BadRequestException("Unknown field '" + name + "'");
+                }
+                query.fields().include(name);
+            }
+            // The cursor needs the sort value of the last row
+            query.fields().include(sortKey.field());
+        }
+
+        List<Task> tasks = mongoTemplate.find(query, Task.class);
+
+        boolean hasMore = tasks.size() > pageSize;
+        if (hasMore) {
+            tasks = tasks.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore
+                ? TaskCursor.after(sortKey, tasks.get(tasks.size() - 1)).encode()
+                : null;
+
+        return new TaskPage(tasks, nextCursor, hasMore, pageSize);
+    }
+
     // Get a specific task by ID and username (for security)
     public Optional<Task> getTaskByIdAndUsername(String id, String username) {
         return taskRepository.findByIdAndUsername(id, username);
@@ -57,11 +181,20 @@ public class TaskService {
             task.setPriority(TaskPriority.MEDIUM);
         }
 
+        // A create never targets an existing document: a client id or version would turn the
+        // insert into a conditional replace. The id is assigned up front so the created event,
+        // written with the task, can refer to it
+        task.setId(new ObjectId().toHexString());
+        task.setVersion(null);
+        task.addEvent(new TaskEvent(TaskEventType.CREATED, task, null));
+        rankAtEnd(task.getUsername(), List.of(task));
+
         Task savedTask = taskRepository.save(task);
         log.info("Task created with ID: {} for user: {}", savedTask.getId(), savedTask.getUsername());
 
-        // Create notification for new task if it's high priority or due soon
-        createTaskCreatedNotification(savedTask);
+        taskStatsService.apply(savedTask.getUsername(), new TaskStatsService.Delta().created(savedTask));
+        taskDueTimer.schedule(savedTask);
+        boardRevisionService.cardsChanged(savedTask.getUsername(), savedTask);
 
         return savedTask;
     }
@@ -85,13 +218,32 @@ public class TaskService {
         // Keep the original creation date
         task.setCreatedAt(existingTask.getCreatedAt());
 
+        // Without a client version the update is checked against the version just read
+        if (task.getVersion() == null) {
+            task.setVersion(existingTask.getVersion());
+        } else if (!task.getVersion().equals(existingTask.getVersion())) {
+            throw new TaskConflictException("Task " + task.getId() + " has been modified since version " + task.getVersion());
+        }
+
+        // Keep undelivered events; the replacement carries the status event, if any
+        task.setOutbox(existingTask.getOutbox());
+        task.addEvent(TaskEvent.statusChange(task, oldStatus));
+
+        // Rank is server-owned: the card keeps its place unless the update puts it in another column
+        if (sameColumn(task, existingTask)) {
+            task.setRank(existingTask.getRank());
+        } else {
+            rankAtEnd(task.getUsername(), List.of(task));
+        }
+
         Task updatedTask = taskRepository.save(task);
         log.info("Task updated with ID: {} for user: {}", updatedTask.getId(), updatedTask.getUsername());
 
-        // Create notifications for status changes
-        if (!oldStatus.equals(updatedTask.getStatus())) {
-            createTaskStatusChangeNotification(updatedTask, oldStatus);
-        }
+        taskStatsService.apply(updatedTask.getUsername(), new TaskStatsService.Delta().changed(
+                oldStatus, existingTask.getPriority(), updatedTask.getStatus(), updatedTask.getPriority()));
+        taskDueTimer.reschedule(updatedTask, existingTask.getDueDate(), oldStatus);
+        // Both boards when the card moved between them
+        boardRevisionService.cardsChanged(updatedTask.getUsername(), existingTask, updatedTask);
 
         return updatedTask;
     }
@@ -99,14 +251,27 @@ public class TaskService {
     // Delete a task
     @Transactional
     public void deleteTask(String id) {
-        if (!taskRepository.existsById(id)) {
+        Query query = new Query(Criteria.where("id").is(id));
+        query.fields().include("username", "title", "status", "priority", "boardId");
+        Task task = mongoTemplate.findOne(query, Task.class);
+        if (task == null) {
             throw new TaskNotFoundException("Task with ID " + id + " not found");
         }
 
-        // Delete associated notifications first
-        notificationService.deleteNotificationsByTaskId(id);
+        // No document will be left to carry the event, so it is written first, under the
+        // task's id (a retry replaces it); the dispatcher holds it back while the task exists
+        mongoTemplate.save(TaskEvent.deletion(task));
+
+        // findAndRemove returns what the counters need as it was removed
+        Task deleted = mongoTemplate.findAndRemove(query, Task.class);
+        if (deleted == null) {
+            // Deleted concurrently, by a request that wrote the same event
+            throw new TaskNotFoundException("Task with ID " + id + " not found");
+        }
 
-        taskRepository.deleteById(id);
+        taskStatsService.apply(deleted.getUsername(), new TaskStatsService.Delta().deleted(deleted));
+        taskDueTimer.cancel(id);
+        boardRevisionService.cardsChanged(deleted.getUsername(), deleted);
         log.info("Task deleted with ID: {}", id);
     }
 
@@ -120,34 +285,247 @@ public class TaskService {
         return taskRepository.findByPriorityAndUsername(priority, username);
     }
 
-    // Search tasks by keyword in title or description
+    // Search tasks by keyword, best matches first (top results only; use TaskSearchService.search to page)
     public List<Task> searchTasksByKeyword(String keyword, String username) {
-        return taskRepository.findByUsernameAndTitleContainingIgnoreCaseOrUsernameAndDescriptionContainingIgnoreCase(
-                username, keyword, username, keyword
-        );
+        return taskSearchService.search(username, keyword, null, null, MAX_PAGE_SIZE).getItems();
     }
 
-    // Update only the status of a task
-    @Transactional
-    public Task updateTaskStatus(String id, TaskStatus status) {
-        Optional<Task> taskOptional = taskRepository.findById(id);
-        if (taskOptional.isEmpty()) {
+    /**
+     * Update only the status of a task in one ownership-scoped findAndModify, which
+     * also queues the status event. Applying our own $set to the pre-image gives
+     * exactly the document as written, so no read-back is needed.
+     */
+    public Task updateTaskStatus(String id, String username, TaskStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        Task task = modifyWithStatusEvent(ownedTaskQuery(id, username), Map.of("status", status), now);
+        if (task == null) {
             throw new TaskNotFoundException("Task with ID " + id + " not found");
         }
 
-        Task task = taskOptional.get();
         TaskStatus oldStatus = task.getStatus();
-
         task.setStatus(status);
-        task.setUpdatedAt(LocalDateTime.now());
+        task.setUpdatedAt(now);
+        task.setVersion(nextVersion(task.getVersion()));
 
-        Task updatedTask = taskRepository.save(task);
         log.info("Task status updated for ID: {} - New status: {}", id, status);
 
-        // Create notification for status change
-        createTaskStatusChangeNotification(updatedTask, oldStatus);
+        taskStatsService.apply(username, new TaskStatsService.Delta().changed(
+                oldStatus, task.getPriority(), status, task.getPriority()));
+        taskDueTimer.reschedule(task, task.getDueDate(), oldStatus);
+        boardRevisionService.cardsChanged(username, task);
 
-        return updatedTask;
+        return task;
+    }
+
+    /**
+     * Apply a JSON merge patch (RFC 7386) as one conditional $set/$unset.
+     * Only the fields present in the patch are written. When an expected version is
+     * given (If-Match or a "version" member) the update only matches that version,
+     * and a mismatch is reported as a conflict rather than overwriting the other edit.
+     */
+    public Task patchTask(String id, String username, JsonNode patch, Long ifMatchVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+
+        Long expectedVersion = ifMatchVersion;
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Update update = new Update();
+
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            String field = member.getKey();
+            JsonNode node = member.getValue();
+
+            if (field.equals("version")) {
+                if (!node.isNull()) {
+                    if (!node.canConvertToLong()) {
+                        throw new BadRequestException("Field 'version' must be a number");
+                    }
+                    if (expectedVersion != null && expectedVersion != node.asLong()) {
+                        throw new BadRequestException("Version in body does not match If-Match");
+                    }
+                    expectedVersion = node.asLong();
+                }
+                continue;
+            }
+
+            JavaType type = PATCHABLE_FIELDS.get(field);
+            if (type == null) {
+                throw new BadRequestException("Field '" + field + "' cannot be patched");
+            }
+
+            Object value;
+            try {
+                value = node.isNull() ? null : objectMapper.convertValue(node, type);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid value for field '" + field + "'");
+            }
+
+            Set<ConstraintViolation<Task>> violations = validator.validateValue(Task.class, field, value);
+            if (!violations.isEmpty()) {
+                throw new BadRequestException(field + ": " + violations.iterator().next().getMessage());
+            }
+
+            changes.put(field, value);
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        }
+
+        Long version = expectedVersion;
+        Supplier<Query> query = () -> {
+            Query owned = ownedTaskQuery(id, username);
+            if (version != null) {
+                owned.addCriteria(Criteria.where("version").is(version));
+            }
+            return owned;
+        };
+
+        if (changes.isEmpty()) {
+            // An empty merge patch is a no-op
+            Task task = mongoTemplate.findOne(query.get(), Task.class);
+            if (task == null) {
+                throw notFoundOrConflict(id, username, expectedVersion);
+            }
+            return task;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        update.set("updatedAt", now).inc("version", 1);
+
+        Task task = changes.containsKey("status")
+                ? modifyWithStatusEvent(query.get(), changes, now)
+                : mongoTemplate.findAndModify(query.get(), update, FindAndModifyOptions.options().returnNew(false), Task.class);
+        if (task == null) {
+            throw notFoundOrConflict(id, username, expectedVersion);
+        }
+
+        // Same trick as the status update: pre-image plus our own changes is the stored document
+        TaskStatus oldStatus = task.getStatus();
+        TaskPriority oldPriority = task.getPriority();
+        LocalDateTime oldDueDate = task.getDueDate();
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(task);
+        changes.forEach(wrapper::setPropertyValue);
+        task.setUpdatedAt(now);
+        task.setVersion(nextVersion(task.getVersion()));
+
+        if (changes.containsKey("title") || changes.containsKey("tags") || changes.containsKey("category")) {
+            // $set bypasses the entity callback that maintains searchTerms
+            Query current = ownedTaskQuery(id, username)
+                    .addCriteria(Criteria.where("version").is(task.getVersion()));
+            mongoTemplate.updateFirst(current,
+                    new Update().set("searchTerms", TaskSearchService.searchTermsOf(task)), Task.class);
+        }
+
+        log.info("Task patched with ID: {} - Fields: {}", id, changes.keySet());
+
+        taskStatsService.apply(username, new TaskStatsService.Delta().changed(
+                oldStatus, oldPriority, task.getStatus(), task.getPriority()));
+        taskDueTimer.reschedule(task, oldDueDate, oldStatus);
+        boardRevisionService.cardsChanged(username, task);
+
+        return task;
+    }
+
+    /**
+     * One findAndModify that applies the changes (null unsets a field), stamps updatedAt
+     * and the version, and queues a COMPLETED event when the task becomes completed. The update is
+     * a pipeline, so whether the status changes, and the status the event names as the
+     * previous one, are decided against the document as it is at write time.
+     * Returns the pre-image, or null when the query matches nothing.
+     */
+    private Task modifyWithStatusEvent(Query query, Map<String, Object> changes, LocalDateTime now) {
+        MongoConverter converter = mongoTemplate.getConverter();
+        Document set = new Document();
+
+        Task changed = new Task();
+        PropertyAccessorFactory.forBeanPropertyAccess(changed).setPropertyValues(changes);
+        TaskEvent statusEvent = TaskEvent.statusChange(changed, null);
+        if (statusEvent != null) {
+            // The event as a push would store it, with the task fields not being changed
+            // (and the previous status) read from the document being updated
+            Document event = new Document();
+            converter.write(statusEvent, event);
+            event.remove("_class");
+            event.replaceAll((field, value) -> literal(value));
+            event.append("taskId", new Document("$toString", "$_id"))
+                    .append("username", "$username")
+                    .append("previousStatus", "$status");
+            for (String field : List.of("title", "priority", "dueDate")) {
+                if (!changes.containsKey(field)) {
+                    event.append(field, "$" + field);
+                }
+            }
+
+            set.append("outbox", new Document("$cond", List.of(
+                    new Document("$ne", List.of("$status", literal(converter.convertToMongoType(changed.getStatus())))),
+                    new Document("$concatArrays", List.of(new Document("$ifNull", List.of("$outbox", List.of())),
+                            List.of(event))),
+                    "$outbox")));
+        }
+        List<String> unset = new ArrayList<>();
+        changes.forEach((field, value) -> {
+            if (value == null) {
+                unset.add(field);
+            } else {
+                set.append(field, literal(converter.convertToMongoType(value)));
+            }
+        });
+        set.append("updatedAt", literal(converter.convertToMongoType(now)))
+                .append("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0)), 1)));
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(context -> new Document("$set", set));
+        if (!unset.isEmpty()) {
+            stages.add(context -> new Document("$unset", unset));
+        }
+        return mongoTemplate.findAndModify(query, AggregationUpdate.from(stages),
+                FindAndModifyOptions.options().returnNew(false), Task.class);
+    }
+
+    // Values in an update pipeline are expressions; a title such as "$x" must stay text
+    private static Document literal(Object value) {
+        return new Document("$literal", value);
+    }
+
+    private static boolean sameColumn(Task task, Task existing) {
+        return Objects.equals(task.getBoardId(), existing.getBoardId())
+                && Objects.equals(task.getColumnId(), existing.getColumnId());
+    }
+
+    /**
+     * Rank cards that a task write puts on a board column below the column's last card,
+     * in the order given. Ranks are never taken from the request.
+     */
+    private void rankAtEnd(String username, List<Task> cards) {
+        Map<List<String>, List<Task>> byColumn = new LinkedHashMap<>();
+        for (Task card : cards) {
+            card.setRank(null);
+            if (card.isOnBoard()) {
+                byColumn.computeIfAbsent(List.of(card.getBoardId(), card.getColumnId()), column -> new ArrayList<>())
+                        .add(card);
+            }
+        }
+        byColumn.forEach((column, columnCards) -> {
+            Iterator<String> ranks = kanbanService.ranksAtEnd(username, column.get(0), column.get(1),
+                    columnCards.size()).iterator();
+            columnCards.forEach(card -> card.setRank(ranks.next()));
+        });
+    }
+
+    private RuntimeException notFoundOrConflict(String id, String username, Long expectedVersion) {
+        if (expectedVersion != null && mongoTemplate.exists(ownedTaskQuery(id, username), Task.class)) {
+            return new TaskConflictException("Task " + id + " has been modified since version " + expectedVersion);
+        }
+        return new TaskNotFoundException("Task with ID " + id + " not found");
+    }
+
+    private static long nextVersion(Long version) {
+        return version == null ? 1 : version + 1;
     }
 
     // Get count of tasks by status for a user (for dashboard)
@@ -171,181 +549,367 @@ public class TaskService {
         return taskRepository.countByUsername(username);
     }
 
-    // ==================== NOTIFICATION METHODS ====================
+    // ==================== BULK OPERATIONS ====================
 
     /**
-     * Check for overdue and due soon tasks and create notifications
-     * This method is called by the scheduler
+     * Create many tasks with one unordered bulk insert.
+     * Items that fail validation are reported and skipped; the rest are written
+     * with their created events.
      */
-    @Transactional
-    public void checkAndNotifyDueTasks() {
-        List<Task> allTasks = taskRepository.findAll();
+    public BulkTaskResult createTasks(List<Task> tasks, String username) {
+        checkBatch(tasks);
+
+        BulkItemResult[] results = new BulkItemResult[tasks.size()];
+        List<Task> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime tomorrow = now.plusDays(1);
 
-        log.info("Checking {} tasks for due date notifications", allTasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task == null) {
+                results[i] = BulkItemResult.failure(i, null, "invalid", "Task cannot be null");
+                continue;
+            }
 
-        int overdueCount = 0;
-        int dueSoonCount = 0;
+            // Ids are assigned up front so results and notifications can refer to them
+            task.setId(new ObjectId().toHexString());
+            task.setUsername(username);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setVersion(0L);
+            if (task.getStatus() == null) {
+                task.setStatus(TaskStatus.TODO);
+            }
+            if (task.getPriority() == null) {
+                task.setPriority(TaskPriority.MEDIUM);
+            }
 
-        for (Task task : allTasks) {
-            // Skip completed tasks or tasks without due dates
-            if (task.getStatus() == TaskStatus.COMPLETED || task.getDueDate() == null) {
+            String violations = validate(task);
+            if (violations != null) {
+                results[i] = BulkItemResult.failure(i, null, "invalid", violations);
                 continue;
             }
 
-            LocalDateTime dueDate = task.getDueDate();
+            task.addEvent(new TaskEvent(TaskEventType.CREATED, task, null));
+            accepted.add(task);
+            acceptedIndexes.add(i);
+        }
 
-            // Check if task is overdue
-            if (dueDate.isBefore(now)) {
-                createOverdueNotification(task);
-                overdueCount++;
-            }
-            // Check if task is due today or tomorrow
-            else if (dueDate.isBefore(tomorrow)) {
-                createDueSoonNotification(task);
-                dueSoonCount++;
+        rankAtEnd(username, accepted);
+
+        Map<Integer, String> writeErrors = new HashMap<>();
+        if (!accepted.isEmpty()) {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+            ops.insert(accepted);
+            executeBulk(ops, accepted.size(), writeErrors);
+        }
+
+        TaskStatsService.Delta stats = new TaskStatsService.Delta();
+        List<Task> written = new ArrayList<>();
+        for (int op = 0; op < accepted.size(); op++) {
+            int index = acceptedIndexes.get(op);
+            Task task = accepted.get(op);
+            String error = writeErrors.get(op);
+
+            if (error != null) {
+                results[index] = BulkItemResult.failure(index, null, "failed", error);
+                continue;
             }
+
+            results[index] = BulkItemResult.success(index, task.getId(), "created");
+            stats.created(task);
+            taskDueTimer.schedule(task);
+            written.add(task);
         }
 
-        log.info("Created {} overdue and {} due soon notifications", overdueCount, dueSoonCount);
-    }
+        taskStatsService.apply(username, stats);
+        boardRevisionService.cardsChanged(username, written);
 
-    // ==================== PRIVATE NOTIFICATION HELPER METHODS ====================
+        BulkTaskResult result = new BulkTaskResult(Arrays.asList(results));
+        log.info("Bulk created {} of {} tasks for user: {}", result.getSucceeded(), tasks.size(), username);
+        return result;
+    }
 
     /**
-     * Create notification when a task is created
+     * Replace many tasks with one unordered bulk write.
+     * Ownership and previous status come from a single $in read instead of a findById per task.
      */
-    private void createTaskCreatedNotification(Task task) {
-        // Only notify for high priority tasks or tasks due soon
-        boolean isHighPriority = task.getPriority() == TaskPriority.HIGH;
-        boolean isDueSoon = task.getDueDate() != null &&
-                ChronoUnit.HOURS.between(LocalDateTime.now(), task.getDueDate()) <= 72; // 3 days
-
-        if (!isHighPriority && !isDueSoon) {
-            return;
-        }
-
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("taskTitle", task.getTitle());
-        metadata.put("taskPriority", task.getPriority().toString());
-        if (task.getDueDate() != null) {
-            metadata.put("dueDate", task.getDueDate().toString());
-        }
-
-        NotificationPriority priority = isHighPriority ?
-                NotificationPriority.HIGH :
-                NotificationPriority.MEDIUM;
-
-        String message = isHighPriority ?
-                "New high priority task created" :
-                "New task created - Due soon";
-
-        notificationService.createTaskNotification(
-                task.getUsername(),
-                task.getId(),
-                NotificationType.SYSTEM,
-                priority,
-                "Task Created: " + task.getTitle(),
-                message,
-                metadata
-        );
-
-        log.info("Created task creation notification for task: {}", task.getId());
+    public BulkTaskResult updateTasks(List<Task> tasks, String username) {
+        checkBatch(tasks);
+
+        BulkItemResult[] results = new BulkItemResult[tasks.size()];
+        Set<String> seenIds = new HashSet<>();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task == null || task.getId() == null || task.getId().isBlank()) {
+                results[i] = BulkItemResult.failure(i, null, "invalid", "Task id is required");
+            } else if (!seenIds.add(task.getId())) {
+                results[i] = BulkItemResult.failure(i, task.getId(), "invalid", "Duplicate task id in batch");
+            }
+        }
+
+        Map<String, Task> existingById = findOwnedTasks(seenIds, username,
+                "status", "priority", "dueDate", "createdAt", "version", "outbox", "boardId", "columnId", "rank");
+
+        List<Task> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Task> changedColumn = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+
+            Task task = tasks.get(i);
+            Task existing = existingById.get(task.getId());
+            if (existing == null) {
+                results[i] = BulkItemResult.failure(i, task.getId(), "not_found",
+                        "Task with ID " + task.getId() + " not found");
+                continue;
+            }
+
+            if (task.getVersion() != null && !task.getVersion().equals(existing.getVersion())) {
+                results[i] = BulkItemResult.failure(i, task.getId(), "conflict",
+                        "Task has been modified since version " + task.getVersion());
+                continue;
+            }
+
+            task.setUsername(username);
+            task.setUpdatedAt(now);
+            // Keep the original creation date
+            task.setCreatedAt(existing.getCreatedAt());
+            task.setVersion(nextVersion(existing.getVersion()));
+
+            String violations = validate(task);
+            if (violations != null) {
+                results[i] = BulkItemResult.failure(i, task.getId(), "invalid", violations);
+                continue;
+            }
+
+            task.setOutbox(existing.getOutbox());
+            task.addEvent(TaskEvent.statusChange(task, existing.getStatus()));
+            if (sameColumn(task, existing)) {
+                task.setRank(existing.getRank());
+            } else {
+                changedColumn.add(task);
+            }
+            accepted.add(task);
+            acceptedIndexes.add(i);
+        }
+        rankAtEnd(username, changedColumn);
+
+        Map<Integer, String> writeErrors = new HashMap<>();
+        if (!accepted.isEmpty()) {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+            for (Task task : accepted) {
+                // Conditional on the version read above, so a concurrent edit is not overwritten
+                Long readVersion = existingById.get(task.getId()).getVersion();
+                Query query = ownedTaskQuery(task.getId(), username)
+                        .addCriteria(Criteria.where("version").is(readVersion));
+                ops.replaceOne(query, task);
+            }
+            int matched = executeBulk(ops, accepted.size(), writeErrors);
+            if (matched < accepted.size() - writeErrors.size()) {
+                markVersionConflicts(accepted, username, writeErrors);
+            }
+        }
+
+        TaskStatsService.Delta stats = new TaskStatsService.Delta();
+        List<Task> written = new ArrayList<>();
+        for (int op = 0; op < accepted.size(); op++) {
+            int index = acceptedIndexes.get(op);
+            Task task = accepted.get(op);
+            String error = writeErrors.get(op);
+
+            if (error != null) {
+                String status = error.equals(CONFLICT_ERROR) ? "conflict" : "failed";
+                results[index] = BulkItemResult.failure(index, task.getId(), status, error);
+                continue;
+            }
+
+            results[index] = BulkItemResult.success(index, task.getId(), "updated");
+            Task existing = existingById.get(task.getId());
+            TaskStatus oldStatus = existing.getStatus();
+            stats.changed(oldStatus, existing.getPriority(), task.getStatus(), task.getPriority());
+            taskDueTimer.reschedule(task, existing.getDueDate(), oldStatus);
+            written.add(existing);
+            written.add(task);
+        }
+
+        taskStatsService.apply(username, stats);
+        boardRevisionService.cardsChanged(username, written);
+
+        BulkTaskResult result = new BulkTaskResult(Arrays.asList(results));
+        log.info("Bulk updated {} of {} tasks for user: {}", result.getSucceeded(), tasks.size(), username);
+        return result;
     }
 
     /**
-     * Create notification when task status changes
+     * Delete many tasks with one unordered bulk write, after recording their deletion events
+     * in another (see deleteTask)
      */
-    private void createTaskStatusChangeNotification(Task task, TaskStatus oldStatus) {
-        // Only create notification if task is completed
-        if (task.getStatus() == TaskStatus.COMPLETED && oldStatus != TaskStatus.COMPLETED) {
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("taskTitle", task.getTitle());
-            metadata.put("taskPriority", task.getPriority().toString());
-            metadata.put("previousStatus", oldStatus.toString());
-
-            notificationService.createTaskNotification(
-                    task.getUsername(),
-                    task.getId(),
-                    NotificationType.TASK_COMPLETED,
-                    NotificationPriority.LOW,
-                    "Task Completed! 🎉",
-                    "You've completed: " + task.getTitle(),
-                    metadata
-            );
-
-            log.info("Created task completion notification for task: {}", task.getId());
+    public BulkTaskResult deleteTasks(List<String> ids, String username) {
+        checkBatch(ids);
+
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        Set<String> seenIds = new HashSet<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null || id.isBlank()) {
+                results[i] = BulkItemResult.failure(i, null, "invalid", "Task id is required");
+            } else if (!seenIds.add(id)) {
+                results[i] = BulkItemResult.failure(i, id, "invalid", "Duplicate task id in batch");
+            }
+        }
+
+        Map<String, Task> owned = findOwnedTasks(seenIds, username, "username", "title", "status", "priority", "boardId");
+
+        List<String> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+
+            String id = ids.get(i);
+            if (!owned.containsKey(id)) {
+                results[i] = BulkItemResult.failure(i, id, "not_found", "Task with ID " + id + " not found");
+                continue;
+            }
+
+            accepted.add(id);
+            acceptedIndexes.add(i);
+        }
+
+        Map<Integer, String> writeErrors = new HashMap<>();
+        if (!accepted.isEmpty()) {
+            BulkOperations events = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskEvent.class);
+            for (String id : accepted) {
+                events.replaceOne(new Query(Criteria.where("id").is(id)), TaskEvent.deletion(owned.get(id)),
+                        FindAndReplaceOptions.options().upsert());
+            }
+            executeBulk(events, accepted.size(), writeErrors);
+
+            // Only tasks whose event was written are removed; removals are indexed by op
+            List<Integer> removeOps = new ArrayList<>();
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+            for (int op = 0; op < accepted.size(); op++) {
+                if (!writeErrors.containsKey(op)) {
+                    ops.remove(ownedTaskQuery(accepted.get(op), username));
+                    removeOps.add(op);
+                }
+            }
+            if (!removeOps.isEmpty()) {
+                Map<Integer, String> removeErrors = new HashMap<>();
+                executeBulk(ops, removeOps.size(), removeErrors);
+                removeErrors.forEach((i, error) -> writeErrors.put(removeOps.get(i), error));
+            }
+        }
+
+        List<Task> removed = new ArrayList<>();
+        TaskStatsService.Delta stats = new TaskStatsService.Delta();
+        for (int op = 0; op < accepted.size(); op++) {
+            int index = acceptedIndexes.get(op);
+            String id = accepted.get(op);
+            String error = writeErrors.get(op);
+
+            if (error != null) {
+                results[index] = BulkItemResult.failure(index, id, "failed", error);
+            } else {
+                results[index] = BulkItemResult.success(index, id, "deleted");
+                stats.deleted(owned.get(id));
+                taskDueTimer.cancel(id);
+                removed.add(owned.get(id));
+            }
         }
+
+        taskStatsService.apply(username, stats);
+        boardRevisionService.cardsChanged(username, removed);
+
+        BulkTaskResult result = new BulkTaskResult(Arrays.asList(results));
+        log.info("Bulk deleted {} of {} tasks for user: {}", result.getSucceeded(), ids.size(), username);
+        return result;
     }
 
-    /**
-     * Create notification for overdue tasks
-     */
-    private void createOverdueNotification(Task task) {
-        LocalDateTime dueDate = task.getDueDate();
-        long hoursOverdue = ChronoUnit.HOURS.between(dueDate, LocalDateTime.now());
-        long daysOverdue = hoursOverdue / 24;
-
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("taskTitle", task.getTitle());
-        metadata.put("taskPriority", task.getPriority().toString());
-        metadata.put("dueDate", dueDate.toString());
-        metadata.put("hoursOverdue", hoursOverdue);
-        metadata.put("daysOverdue", daysOverdue);
-
-        String message;
-        if (daysOverdue >= 1) {
-            message = String.format("%s is overdue by %d day(s)", task.getTitle(), daysOverdue);
-        } else {
-            message = String.format("%s is overdue by %d hour(s)", task.getTitle(), hoursOverdue);
+    private void checkBatch(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Batch cannot be empty");
+        }
+        if (items.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Batch cannot exceed " + MAX_BULK_SIZE + " items");
+        }
+    }
+
+    private String validate(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Map<String, Task> findOwnedTasks(Collection<String> ids, String username, String... fields) {
+        if (ids.isEmpty()) {
+            return Map.of();
         }
 
-        notificationService.createTaskNotification(
-                task.getUsername(),
-                task.getId(),
-                NotificationType.TASK_OVERDUE,
-                NotificationPriority.URGENT,
-                "Task Overdue!",
-                message,
-                metadata
-        );
+        Query query = new Query(Criteria.where("id").in(ids).and("username").is(username));
+        query.fields().include(fields);
 
-        log.debug("Created overdue notification for task: {} (overdue by {} hours)",
-                task.getId(), hoursOverdue);
+        Map<String, Task> byId = new HashMap<>();
+        for (Task task : mongoTemplate.find(query, Task.class)) {
+            byId.put(task.getId(), task);
+        }
+        return byId;
     }
 
     /**
-     * Create notification for tasks due soon
+     * Some conditional replacements matched nothing because another write got there
+     * first. Find which by reading back the versions, only on this rare path.
      */
-    private void createDueSoonNotification(Task task) {
-        LocalDateTime dueDate = task.getDueDate();
-        long hoursUntilDue = ChronoUnit.HOURS.between(LocalDateTime.now(), dueDate);
-
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("taskTitle", task.getTitle());
-        metadata.put("taskPriority", task.getPriority().toString());
-        metadata.put("dueDate", dueDate.toString());
-        metadata.put("hoursUntilDue", hoursUntilDue);
-
-        String message;
-        if (hoursUntilDue <= 24) {
-            message = task.getTitle() + " is due today!";
-        } else {
-            message = task.getTitle() + " is due tomorrow";
+    private void markVersionConflicts(List<Task> written, String username, Map<Integer, String> errors) {
+        List<String> ids = written.stream().map(Task::getId).toList();
+        Map<String, Task> stored = findOwnedTasks(ids, username, "version");
+
+        for (int op = 0; op < written.size(); op++) {
+            Task task = written.get(op);
+            Task current = stored.get(task.getId());
+            if (!errors.containsKey(op) && (current == null || !task.getVersion().equals(current.getVersion()))) {
+                errors.put(op, CONFLICT_ERROR);
+            }
         }
+    }
 
-        notificationService.createTaskNotification(
-                task.getUsername(),
-                task.getId(),
-                NotificationType.TASK_DUE_SOON,
-                NotificationPriority.HIGH,
-                "Task Due Soon",
-                message,
-                metadata
-        );
+    private static Query ownedTaskQuery(String id, String username) {
+        return new Query(Criteria.where("id").is(id).and("username").is(username));
+    }
 
-        log.debug("Created due soon notification for task: {} (due in {} hours)",
-                task.getId(), hoursUntilDue);
+    /**
+     * Run the bulk write, collecting per-operation errors by operation index, and
+     * return the number of documents matched by updates and replacements.
+     * An unordered write keeps going past failed items; anything else fails the whole batch.
+     */
+    private static int executeBulk(BulkOperations ops, int operationCount, Map<Integer, String> errors) {
+        try {
+            return ops.execute().getMatchedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+            return e.getResult().getMatchedCount();
+        } catch (DataAccessException e) {
+            log.error("Bulk task write failed: {}", e.getMessage());
+            for (int i = 0; i < operationCount; i++) {
+                errors.put(i, "Write failed");
+            }
+            return 0;
+        }
     }
-}
\ No newline at end of file
+}
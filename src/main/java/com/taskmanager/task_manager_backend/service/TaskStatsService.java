@@ -0,0 +1,273 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import com.taskmanager.task_manager_backend.model.UserTaskStats;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.LookupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard task counts for a user.
+ *
+ * Without counters, all numbers come from one $facet aggregation over the user's
+ * tasks. With tasks.stats.counters.enabled the counts come from the user's
+ * UserTaskStats document, kept current by apply() on every task write. Overdue
+ * depends on the clock and is always counted live, but in the same round trip: the
+ * counter read is an aggregation that $lookups the open tasks past due on the
+ * (username, status, dueDate) index.
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${tasks.stats.counters.enabled:false}")
+    private boolean countersEnabled;
+
+    @Value("${tasks.stats.counters.ttl:PT1H}")
+    private Duration countersTtl;
+
+    public UserTaskStats getStats(String username) {
+        if (!countersEnabled) {
+            return aggregate(username);
+        }
+
+        UserTaskStats stats = readCounters(username);
+        return stats != null ? stats : build(username);
+    }
+
+    /**
+     * The user's counter document with the live overdue count joined in, in one
+     * aggregation; null when the document has not been built
+     */
+    private UserTaskStats readCounters(String username) {
+        // The $lookup pipeline is not mapped against Task, so compare stored representations
+        Date now = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant());
+        List<String> openStatuses = OPEN_STATUSES.stream().map(TaskStatus::name).toList();
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(username)),
+                LookupOperation.newLookup()
+                        .from(mongoTemplate.getCollectionName(Task.class))
+                        .localField("_id")
+                        .foreignField("username")
+                        .pipeline(Aggregation.match(Criteria.where("status").in(openStatuses).and("dueDate").lt(now)),
+                                Aggregation.count().as("count"))
+                        .as("overdue"));
+
+        Document document = mongoTemplate.aggregate(aggregation, UserTaskStats.class, Document.class)
+                .getUniqueMappedResult();
+        if (document == null) {
+            return null;
+        }
+
+        UserTaskStats stats = mongoTemplate.getConverter().read(UserTaskStats.class, document);
+        stats.setOverdue(singleCount(document, "overdue"));
+        return stats;
+    }
+
+    /**
+     * Build the user's counter document from an aggregation. Task writes between the
+     * aggregation and the insert found no document to update, so the counts are
+     * aggregated again afterwards and replace the stored ones if they differ.
+     */
+    private UserTaskStats build(String username) {
+        UserTaskStats stats = aggregate(username);
+        LocalDateTime now = LocalDateTime.now();
+        stats.setRefreshedAt(now);
+        stats.setExpiresAt(now.plus(countersTtl));
+        try {
+            mongoTemplate.insert(stats);
+        } catch (DuplicateKeyException e) {
+            // Another request built it first, and reconciles it; never overwrite its increments
+            UserTaskStats stored = readCounters(username);
+            return stored != null ? stored : stats;
+        }
+
+        UserTaskStats recount = aggregate(username);
+        if (!sameCounts(stats, recount)) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("username").is(username)),
+                    new Update()
+                            .set("total", recount.getTotal())
+                            .set("todo", recount.getTodo())
+                            .set("inProgress", recount.getInProgress())
+                            .set("completed", recount.getCompleted())
+                            .set("highPriority", recount.getHighPriority()),
+                    UserTaskStats.class);
+        }
+        recount.setRefreshedAt(stats.getRefreshedAt());
+        recount.setExpiresAt(stats.getExpiresAt());
+        return recount;
+    }
+
+    private static boolean sameCounts(UserTaskStats a, UserTaskStats b) {
+        return a.getTotal() == b.getTotal()
+                && a.getTodo() == b.getTodo()
+                && a.getInProgress() == b.getInProgress()
+                && a.getCompleted() == b.getCompleted()
+                && a.getHighPriority() == b.getHighPriority();
+    }
+
+    /**
+     * All dashboard numbers in a single pass over the user's tasks
+     */
+    public UserTaskStats aggregate(String username) {
+        // Facet sub-pipelines are not mapped against Task, so compare stored representations
+        Date now = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant());
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("username").is(username)),
+                Aggregation.project("status", "priority", "dueDate"),
+                Aggregation.facet(Aggregation.group("status").count().as("count")).as("byStatus")
+                        .and(Aggregation.match(Criteria.where("priority").is(TaskPriority.HIGH.name())),
+                                Aggregation.count().as("count")).as("highPriority")
+                        .and(Aggregation.match(Criteria.where("dueDate").lt(now)
+                                        .and("status").ne(TaskStatus.COMPLETED.name())),
+                                Aggregation.count().as("count")).as("overdue"));
+
+        Document facets = mongoTemplate.aggregate(aggregation, Task.class, Document.class).getUniqueMappedResult();
+
+        UserTaskStats stats = new UserTaskStats();
+        stats.setUsername(username);
+        if (facets == null) {
+            return stats;
+        }
+
+        for (Document byStatus : facets.getList("byStatus", Document.class)) {
+            long count = ((Number) byStatus.get("count")).longValue();
+            stats.setTotal(stats.getTotal() + count);
+
+            String status = byStatus.getString("_id");
+            if (TaskStatus.TODO.name().equals(status)) {
+                stats.setTodo(count);
+            } else if (TaskStatus.IN_PROGRESS.name().equals(status)) {
+                stats.setInProgress(count);
+            } else if (TaskStatus.COMPLETED.name().equals(status)) {
+                stats.setCompleted(count);
+            }
+        }
+        stats.setHighPriority(singleCount(facets, "highPriority"));
+        stats.setOverdue(singleCount(facets, "overdue"));
+
+        return stats;
+    }
+
+    /**
+     * Apply counter changes for one user. A no-op when counters are disabled or
+     * the user's document has not been built yet (the next read builds it).
+     */
+    public void apply(String username, Delta delta) {
+        if (!countersEnabled || delta.increments.isEmpty()) {
+            return;
+        }
+
+        Update update = new Update();
+        delta.increments.forEach(update::inc);
+
+        try {
+            mongoTemplate.updateFirst(new Query(Criteria.where("username").is(username)), update, UserTaskStats.class);
+        } catch (Exception e) {
+            // Counters must never fail a task write; drop the document so the next read rebuilds it
+            log.warn("Could not update task counters for user {}: {}", username, e.getMessage());
+            evict(username);
+        }
+    }
+
+    public void evict(String username) {
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("username").is(username)), UserTaskStats.class);
+        } catch (Exception e) {
+            log.warn("Could not drop task counters for user {}: {}", username, e.getMessage());
+        }
+    }
+
+    private static long singleCount(Document facets, String facet) {
+        List<Document> results = facets.getList(facet, Document.class);
+        return results.isEmpty() ? 0 : ((Number) results.get(0).get("count")).longValue();
+    }
+
+    /**
+     * Counter increments collected from one or more task writes
+     */
+    public static final class Delta {
+
+        private final Map<String, Long> increments = new HashMap<>();
+
+        public Delta created(Task task) {
+            return adjust(task.getStatus(), task.getPriority(), 1);
+        }
+
+        public Delta deleted(Task task) {
+            return adjust(task.getStatus(), task.getPriority(), -1);
+        }
+
+        public Delta changed(TaskStatus oldStatus, TaskPriority oldPriority,
+                             TaskStatus newStatus, TaskPriority newPriority) {
+            if (oldStatus != newStatus) {
+                add(statusField(oldStatus), -1);
+                add(statusField(newStatus), 1);
+            }
+            if (oldPriority != newPriority) {
+                add(oldPriority == TaskPriority.HIGH ? "highPriority" : null, -1);
+                add(newPriority == TaskPriority.HIGH ? "highPriority" : null, 1);
+            }
+            return this;
+        }
+
+        private Delta adjust(TaskStatus status, TaskPriority priority, long sign) {
+            add("total", sign);
+            add(statusField(status), sign);
+            add(priority == TaskPriority.HIGH ? "highPriority" : null, sign);
+            return this;
+        }
+
+        private void add(String field, long amount) {
+            if (field == null) {
+                return;
+            }
+            increments.merge(field, amount, Long::sum);
+            increments.remove(field, 0L);
+        }
+
+        private static String statusField(TaskStatus status) {
+            if (status == null) {
+                return null;
+            }
+            switch (status) {
+                case TODO:
+                    return "todo";
+                case IN_PROGRESS:
+                    return "inProgress";
+                case COMPLETED:
+                    return "completed";
+                default:
+                    return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.taskmanager.task_manager_backend.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives tasks written before optimistic locking a version of 0.
+ * Spring Data treats a versioned entity with a null version as new, so without
+ * this a save of an old task would try to insert it again.
+ * Runs once after startup and retries until it succeeds, so a slow or absent
+ * database never holds up boot.
+ */
+@Component
+public class TaskVersionBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskVersionBackfill.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile boolean done;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tasks.version-backfill.retry-interval:60000}")
+    public void backfill() {
+        if (done) {
+            return;
+        }
+
+        try {
+            UpdateResult result = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L),
+                    Task.class);
+            done = true;
+
+            if (result.getModifiedCount() > 0) {
+                log.info("Initialised version on {} existing tasks", result.getModifiedCount());
+            }
+        } catch (Exception e) {
+            log.warn("Task version backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.dto.JwtClaims;
+import com.taskmanager.task_manager_backend.model.RevokedToken;
+import com.taskmanager.task_manager_backend.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT revocation by token id (jti).
+ *
+ * Revocations are persisted in the TTL-indexed "revoked_tokens" collection (see
+ * MongoIndexCatalog) and
+ * mirrored in memory as a bloom filter plus an exact set, so the per-request
+ * check is O(1) with no database access. Each node pulls new revocations
+ * incrementally on a fixed delay, which is how a logout on one instance
+ * reaches the others.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final int MIN_BLOOM_CAPACITY = 10_000;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    // Re-read a short window behind the watermark to tolerate clock skew between nodes
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    // jti -> expiry (epoch millis)
+    private final Map<String, Long> revokedIds = new ConcurrentHashMap<>();
+
+    private final Object bloomLock = new Object();
+    private volatile RevocationBloomFilter bloomFilter = new RevocationBloomFilter(MIN_BLOOM_CAPACITY, BLOOM_FALSE_POSITIVE_RATE);
+    private volatile int bloomCapacity = MIN_BLOOM_CAPACITY;
+
+    private volatile LocalDateTime syncWatermark;
+
+    /**
+     * O(1), allocation-free for the common case of a token that was never revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (!bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedIds.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke a verified token until its natural expiry
+     */
+    public void revoke(JwtClaims claims) {
+        if (claims == null || claims.getTokenId() == null) {
+            return;
+        }
+
+        LocalDateTime expiresAt = expiryOf(claims);
+        revokedTokenRepository.save(new RevokedToken(
+                claims.getTokenId(), claims.getUsername(), "logout", LocalDateTime.now(), expiresAt));
+
+        remember(claims.getTokenId(), toEpochMillis(expiresAt));
+        log.info("Revoked token {} for user: {}", claims.getTokenId(), claims.getUsername());
+    }
+
+    /**
+     * Atomically mark a refresh token as used. Returns false if it was already used
+     * or revoked, which for a refresh token means it is being replayed.
+     */
+    public boolean consume(JwtClaims claims) {
+        if (claims.getTokenId() == null) {
+            return true;
+        }
+
+        LocalDateTime expiresAt = expiryOf(claims);
+        try {
+            // insert (not save): the unique _id makes concurrent exchanges of one token race-free
+            revokedTokenRepository.insert(new RevokedToken(
+                    claims.getTokenId(), claims.getUsername(), "rotated", LocalDateTime.now(), expiresAt));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+
+        remember(claims.getTokenId(), toEpochMillis(expiresAt));
+        return true;
+    }
+
+    /**
+     * Revoke every access and refresh token minted from one login session
+     */
+    public void revokeFamily(String familyId, String username, LocalDateTime expiresAt) {
+        if (familyId == null) {
+            return;
+        }
+
+        revokedTokenRepository.save(new RevokedToken(
+                familyId, username, "family", LocalDateTime.now(), expiresAt));
+
+        remember(familyId, toEpochMillis(expiresAt));
+        log.warn("Revoked token family {} for user: {}", familyId, username);
+    }
+
+    /**
+     * Pull revocations recorded by any node since the last sync
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:5000}")
+    public void syncRevocations() {
+        try {
+            LocalDateTime since = syncWatermark != null
+                    ? syncWatermark.minusSeconds(SYNC_OVERLAP_SECONDS)
+                    : LocalDateTime.of(1970, 1, 1, 0, 0);
+
+            List<RevokedToken> revoked = revokedTokenRepository.findByRevokedAtAfterOrderByRevokedAtAsc(since);
+            LocalDateTime watermark = syncWatermark;
+
+            for (RevokedToken token : revoked) {
+                remember(token.getId(), toEpochMillis(token.getExpiresAt()));
+                if (watermark == null || token.getRevokedAt().isAfter(watermark)) {
+                    watermark = token.getRevokedAt();
+                }
+            }
+
+            syncWatermark = watermark != null ? watermark : LocalDateTime.now().minusSeconds(SYNC_OVERLAP_SECONDS);
+            purgeExpired();
+        } catch (Exception e) {
+            log.warn("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void remember(String tokenId, long expiresAtMillis) {
+        synchronized (bloomLock) {
+            revokedIds.put(tokenId, expiresAtMillis);
+            if (revokedIds.size() > bloomCapacity) {
+                rebuildBloomFilter();
+            } else {
+                bloomFilter.add(tokenId);
+            }
+        }
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (bloomLock) {
+            if (revokedIds.values().removeIf(expiresAt -> expiresAt <= now)) {
+                rebuildBloomFilter();
+            }
+        }
+    }
+
+    // Caller holds bloomLock
+    private void rebuildBloomFilter() {
+        int capacity = Math.max(MIN_BLOOM_CAPACITY, revokedIds.size() * 2);
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(capacity, BLOOM_FALSE_POSITIVE_RATE);
+        revokedIds.keySet().forEach(rebuilt::add);
+        bloomCapacity = capacity;
+        bloomFilter = rebuilt;
+    }
+
+    private static LocalDateTime expiryOf(JwtClaims claims) {
+        return claims.getExpiration() != null
+                ? LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault())
+                : LocalDateTime.now().plusDays(7);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,158 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.Notification;
+import com.taskmanager.task_manager_backend.model.NotificationCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unread notification counts for the badge endpoint.
+ *
+ * The count lives in a NotificationCounter document that every notification write
+ * adjusts with $inc, and each node keeps the values it has seen in a short-TTL map.
+ * A write on this node refreshes the local value from the findAndModify result, so
+ * the badge is a memory read; writes on other nodes show up within the local TTL.
+ */
+@Service
+public class UnreadNotificationCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${notifications.unread.local-ttl:2000}")
+    private long localTtlMillis = 2000;
+
+    @Value("${notifications.unread.counter-ttl:PT1H}")
+    private Duration counterTtl = Duration.ofHours(1);
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public long get(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.count;
+        }
+
+        long count = load(username);
+        remember(username, count, now);
+        return count;
+    }
+
+    /**
+     * Adjust a user's count after a notification write.
+     * Returns the new count, or -1 when there is no counter to adjust (the next read
+     * builds one) or it could not be updated.
+     */
+    public long add(String username, long delta) {
+        if (delta == 0) {
+            return -1;
+        }
+
+        try {
+            NotificationCounter counter = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("username").is(username)),
+                    new Update().inc("unread", delta),
+                    FindAndModifyOptions.options().returnNew(true),
+                    NotificationCounter.class);
+
+            if (counter == null) {
+                entries.remove(username);
+                return -1;
+            }
+            if (counter.getUnread() < 0) {
+                // Drifted (a write raced the initial count); recount on the next read
+                evict(username);
+                return -1;
+            }
+
+            remember(username, counter.getUnread(), System.currentTimeMillis());
+            return counter.getUnread();
+        } catch (Exception e) {
+            // Counters must never fail a notification write
+            log.warn("Could not update unread count for user {}: {}", username, e.getMessage());
+            evict(username);
+            return -1;
+        }
+    }
+
+    /**
+     * Forget the count so the next read recounts, for writes whose effect on it is unknown
+     */
+    public void evict(String username) {
+        entries.remove(username);
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("username").is(username)), NotificationCounter.class);
+        } catch (Exception e) {
+            log.warn("Could not drop unread count for user {}: {}", username, e.getMessage());
+        }
+    }
+
+    private long load(String username) {
+        NotificationCounter counter = mongoTemplate.findById(username, NotificationCounter.class);
+        if (counter != null) {
+            return counter.getUnread();
+        }
+
+        long unread = countUnread(username);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            mongoTemplate.insert(new NotificationCounter(username, unread, now, now.plus(counterTtl)));
+        } catch (DuplicateKeyException e) {
+            // Another request built it first, and reconciles it
+            counter = mongoTemplate.findById(username, NotificationCounter.class);
+            return counter != null ? counter.getUnread() : unread;
+        }
+
+        // A write between the count and the insert found no counter to adjust: recount
+        // now, so it is not lost until the counter expires
+        long recount = countUnread(username);
+        if (recount != unread) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("username").is(username)),
+                    new Update().set("unread", recount), NotificationCounter.class);
+        }
+        return recount;
+    }
+
+    private long countUnread(String username) {
+        return mongoTemplate.count(
+                new Query(Criteria.where("username").is(username).and("read").is(false)), Notification.class);
+    }
+
+    private void remember(String username, long count, long now) {
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        entries.put(username, new Entry(count, now + localTtlMillis));
+    }
+
+    private static final class Entry {
+        private final long count;
+        private final long expiresAt;
+
+        private Entry(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
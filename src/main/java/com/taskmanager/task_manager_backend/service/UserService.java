@@ -8,9 +8,8 @@ import com.taskmanager.task_manager_backend.dto.UserProfileResponse;
 import com.taskmanager.task_manager_backend.exception.BadRequestException;
 import com.taskmanager.task_manager_backend.exception.UserAlreadyExistsException;
 import com.taskmanager.task_manager_backend.exception.UserNotFoundException;
-import com.taskmanager.task_manager_backend.model.TaskPriority;
-import com.taskmanager.task_manager_backend.model.TaskStatus;
 import com.taskmanager.task_manager_backend.model.User;
+import com.taskmanager.task_manager_backend.model.UserTaskStats;
 import com.taskmanager.task_manager_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -29,7 +28,10 @@ public class UserService {
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private TaskService taskService;
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
 
     // Find user by username
     public Optional<User> findByUsername(String username) {
@@ -126,25 +128,21 @@ public class UserService {
         }
 
         userRepository.delete(userOptional.get());
+        userStatusCache.evict(username);
+        taskStatsService.evict(username);
     }
 
     // Get dashboard statistics for a user
+    // The account itself is already checked by the JWT filter on every request
     public DashboardStats getUserDashboardStats(String username) {
-        // Verify user exists
-        if (!userRepository.existsByUsername(username)) {
-            throw new UserNotFoundException("User not found: " + username);
-        }
-
-        // Get task counts
-        int totalTasks = (int) taskService.countTasksByUsername(username);
-        int completedTasks = (int) taskService.countTasksByStatusAndUsername(TaskStatus.COMPLETED, username);
-        int todoTasks = (int) taskService.countTasksByStatusAndUsername(TaskStatus.TODO, username);
-        int inProgressTasks = (int) taskService.countTasksByStatusAndUsername(TaskStatus.IN_PROGRESS, username);
-        int pendingTasks = todoTasks + inProgressTasks;
-        int overdueTasks = (int) taskService.countOverdueTasksByUsername(username);
-        int highPriorityTasks = (int) taskService.countTasksByPriorityAndUsername(TaskPriority.HIGH, username);
-
-        return new DashboardStats(totalTasks, completedTasks, pendingTasks, overdueTasks, highPriorityTasks);
+        UserTaskStats stats = taskStatsService.getStats(username);
+
+        return new DashboardStats(
+                (int) stats.getTotal(),
+                (int) stats.getCompleted(),
+                (int) (stats.getTodo() + stats.getInProgress()),
+                (int) stats.getOverdue(),
+                (int) stats.getHighPriority());
     }
 
     // Check if user exists by username
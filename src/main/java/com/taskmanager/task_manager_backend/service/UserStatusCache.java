@@ -0,0 +1,90 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.model.User;
+import com.taskmanager.task_manager_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-TTL cache of account status (exists / enabled / not locked) used by the
+ * JWT filter. Lets the filter honour deleted or locked accounts without a
+ * Mongo round trip on every authenticated request.
+ */
+@Service
+public class UserStatusCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.user-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.user-check.ttl:60000}")
+    private long ttlMillis;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether the account behind a token is still allowed to authenticate.
+     * Always true when the check is disabled.
+     */
+    public boolean isActive(String username) {
+        if (!enabled) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.active;
+        }
+
+        boolean active = loadStatus(username);
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        entries.put(username, new Entry(active, now + ttlMillis));
+        return active;
+    }
+
+    /**
+     * Drop the cached status so the next request re-reads the account
+     */
+    public void evict(String username) {
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    private boolean loadStatus(String username) {
+        Optional<User> userOptional = userRepository.findByUsername(username);
+        if (userOptional.isEmpty()) {
+            return false;
+        }
+
+        User user = userOptional.get();
+        return user.isEnabled()
+                && user.isAccountNonLocked()
+                && user.isAccountNonExpired()
+                && user.isCredentialsNonExpired();
+    }
+
+    private static final class Entry {
+        private final boolean active;
+        private final long expiresAt;
+
+        private Entry(boolean active, long expiresAt) {
+            this.active = active;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.taskmanager.task_manager_backend.dto.JwtClaims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of recently verified tokens, keyed by SHA-256 digest so raw
+ * bearer tokens are never held in memory. Entries are only served until the
+ * token's own expiry.
+ */
+class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Map<String, JwtClaims> entries;
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(Math.max(16, maxEntries / 4), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtClaims> eldest) {
+                return size() > VerifiedTokenCache.this.maxEntries;
+            }
+        };
+    }
+
+    JwtClaims get(String digest) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+
+        JwtClaims claims;
+        synchronized (entries) {
+            claims = entries.get(digest);
+            if (claims != null && claims.isExpired()) {
+                entries.remove(digest);
+                return null;
+            }
+        }
+        return claims;
+    }
+
+    void put(String digest, JwtClaims claims) {
+        if (maxEntries <= 0) {
+            return;
+        }
+
+        synchronized (entries) {
+            entries.put(digest, claims);
+        }
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.taskmanager.task_manager_backend.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.taskmanager.task_manager_backend.config.MongoIndexInitializer;
+import com.taskmanager.task_manager_backend.dto.MoveTaskRequest;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import com.taskmanager.task_manager_backend.repository.TaskRepository;
+import com.taskmanager.task_manager_backend.service.BoardRevisionService;
+import com.taskmanager.task_manager_backend.service.CardRank;
+import com.taskmanager.task_manager_backend.service.CardRankRebalancer;
+import com.taskmanager.task_manager_backend.service.KanbanService;
+import com.taskmanager.task_manager_backend.service.TaskDueTimer;
+import com.taskmanager.task_manager_backend.service.TaskStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of moving a card to a random spot in one long Kanban column: KanbanService's
+ * ranked move (one document written) against integer positions kept dense by
+ * renumbering every card between the old and new spot.
+ *
+ * Ranks that outgrow CardRank.MAX_LENGTH are rebalanced between iterations, as the
+ * background job would.
+ *
+ * Needs a running MongoDB (seeded data is kept between runs). Not part of the test suite. Run with:
+ *   mvn test-compile
+ *   mvn exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.taskmanager.task_manager_backend.benchmark.KanbanMoveBenchmark \
+ *       -Dbenchmark.mongo.uri=mongodb://localhost:27017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KanbanMoveBenchmark {
+
+    private static final String USERNAME = "bench-user";
+    private static final String BOARD_ID = "bench-board";
+    private static final String COLUMN_ID = "todo";
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param({"1000", "10000"})
+    private int cardCount;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private KanbanService kanbanService;
+    private CardRankRebalancer cardRankRebalancer;
+    private final List<String> cardIds = new ArrayList<>();
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017");
+        client = MongoClients.create(uri);
+        mongoTemplate = new MongoTemplate(client, "taskmanager_kanban_bench_" + cardCount);
+
+        seed();
+
+        MongoIndexInitializer indexInitializer = new MongoIndexInitializer();
+        ReflectionTestUtils.setField(indexInitializer, "mongoTemplate", mongoTemplate);
+        indexInitializer.ensureIndexes();
+
+        Query ids = new Query(Criteria.where("username").is(USERNAME));
+        ids.fields().include("id");
+        mongoTemplate.find(ids, Task.class).forEach(task -> cardIds.add(task.getId()));
+
+        BoardRevisionService boardRevisionService = new BoardRevisionService();
+        ReflectionTestUtils.setField(boardRevisionService, "mongoTemplate", mongoTemplate);
+
+        cardRankRebalancer = new CardRankRebalancer();
+        ReflectionTestUtils.setField(cardRankRebalancer, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(cardRankRebalancer, "boardRevisionService", boardRevisionService);
+
+        kanbanService = new KanbanService();
+        ReflectionTestUtils.setField(kanbanService, "taskRepository",
+                new MongoRepositoryFactory(mongoTemplate).getRepository(TaskRepository.class));
+        ReflectionTestUtils.setField(kanbanService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(kanbanService, "cardRankRebalancer", cardRankRebalancer);
+        ReflectionTestUtils.setField(kanbanService, "boardRevisionService", boardRevisionService);
+        ReflectionTestUtils.setField(kanbanService, "taskStatsService", new TaskStatsService());
+        ReflectionTestUtils.setField(kanbanService, "taskDueTimer", new TaskDueTimer());
+    }
+
+    @TearDown(Level.Iteration)
+    public void rebalance() {
+        cardRankRebalancer.rebalancePending();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Task rankedMove() {
+        MoveTaskRequest request = new MoveTaskRequest();
+        request.setTaskId(cardIds.get(random.nextInt(cardCount)));
+        request.setFromColumnId(COLUMN_ID);
+        request.setToColumnId(COLUMN_ID);
+        request.setNewPosition(random.nextInt(cardCount));
+        return kanbanService.moveTask(USERNAME, request);
+    }
+
+    /**
+     * What a correct move costs with dense integer positions: shift every card between
+     * the old and the new spot by one, then place the card
+     */
+    @Benchmark
+    public long renumberingMove() {
+        String id = cardIds.get(random.nextInt(cardCount));
+        int to = random.nextInt(cardCount);
+
+        Query byId = new Query(Criteria.where("id").is(id));
+        byId.fields().include("positionInColumn");
+        int from = mongoTemplate.findOne(byId, Task.class).getPositionInColumn();
+
+        Criteria column = Criteria.where("username").is(USERNAME).and("columnId").is(COLUMN_ID);
+        long shifted = 0;
+        if (to < from) {
+            shifted = mongoTemplate.updateMulti(new Query(column.and("positionInColumn").gte(to).lt(from)),
+                    new Update().inc("positionInColumn", 1), Task.class).getModifiedCount();
+        } else if (to > from) {
+            shifted = mongoTemplate.updateMulti(new Query(column.and("positionInColumn").gt(from).lte(to)),
+                    new Update().inc("positionInColumn", -1), Task.class).getModifiedCount();
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(id)),
+                new Update().set("positionInColumn", to), Task.class);
+        return shifted;
+    }
+
+    private void seed() {
+        long existing = mongoTemplate.count(new Query(Criteria.where("username").is(USERNAME)), Task.class);
+        if (existing == cardCount) {
+            return;
+        }
+
+        mongoTemplate.dropCollection(Task.class);
+        List<String> ranks = CardRank.spread(null, null, cardCount);
+        List<Task> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (int i = 0; i < cardCount; i++) {
+            Task task = new Task("Card " + i, TaskStatus.TODO, TaskPriority.MEDIUM, USERNAME);
+            task.setBoardId(BOARD_ID);
+            task.setColumnId(COLUMN_ID);
+            task.setPositionInColumn(i);
+            task.setRank(ranks.get(i));
+            task.setVersion(0L);
+            batch.add(task);
+
+            if (batch.size() == SEED_BATCH_SIZE) {
+                mongoTemplate.insert(batch, Task.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Task.class);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(KanbanMoveBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,177 @@
+package com.taskmanager.task_manager_backend.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.taskmanager.task_manager_backend.config.MongoIndexInitializer;
+import com.taskmanager.task_manager_backend.dto.TaskPage;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import com.taskmanager.task_manager_backend.repository.TaskRepository;
+import com.taskmanager.task_manager_backend.service.TaskSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the legacy regex search against the text-index search and typeahead,
+ * with one user owning 10k, 100k and 1M tasks.
+ *
+ * The regex baseline calls the original derived query through a real repository proxy.
+ * All indexes from MongoIndexCatalog are created, so the regex side scans only the
+ * user's index range rather than the whole collection.
+ *
+ * Needs a running MongoDB (seeded data is kept between runs). Not part of the test suite. Run with:
+ *   mvn test-compile
+ *   mvn exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.taskmanager.task_manager_backend.benchmark.TaskSearchBenchmark \
+ *       -Dbenchmark.mongo.uri=mongodb://localhost:27017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private static final String USERNAME = "bench-user";
+    private static final String KEYWORD = "invoice";
+    private static final String PREFIX = "inv";
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private static final String[] WORDS = {
+            "review", "design", "deploy", "release", "meeting", "report", "customer", "backend",
+            "frontend", "refactor", "bug", "fix", "update", "docs", "test", "migrate", "database",
+            "budget", "plan", "sprint", "roadmap", "email", "call", "follow", "up", "draft", "audit"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    private int taskCount;
+
+    private MongoClient client;
+    private TaskRepository taskRepository;
+    private TaskSearchService taskSearchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017");
+        client = MongoClients.create(uri);
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "taskmanager_bench_" + taskCount);
+
+        seed(mongoTemplate);
+
+        MongoIndexInitializer indexInitializer = new MongoIndexInitializer();
+        ReflectionTestUtils.setField(indexInitializer, "mongoTemplate", mongoTemplate);
+        indexInitializer.ensureIndexes();
+
+        taskRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(TaskRepository.class);
+
+        taskSearchService = new TaskSearchService();
+        ReflectionTestUtils.setField(taskSearchService, "mongoTemplate", mongoTemplate);
+        taskSearchService.backfill();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public List<Task> regexSearch() {
+        return taskRepository.findByUsernameAndTitleContainingIgnoreCaseOrUsernameAndDescriptionContainingIgnoreCase(
+                USERNAME, KEYWORD, USERNAME, KEYWORD);
+    }
+
+    @Benchmark
+    public TaskPage textSearchFirstPage() {
+        return taskSearchService.search(USERNAME, KEYWORD, null, null, 20);
+    }
+
+    @Benchmark
+    public TaskPage textSearchTop200() {
+        return taskSearchService.search(USERNAME, KEYWORD, null, null, 200);
+    }
+
+    @Benchmark
+    public List<Task> typeahead() {
+        return taskSearchService.suggest(USERNAME, PREFIX, 10);
+    }
+
+    private void seed(MongoTemplate mongoTemplate) {
+        long existing = mongoTemplate.count(new Query(Criteria.where("username").is(USERNAME)), Task.class);
+        if (existing == taskCount) {
+            return;
+        }
+
+        mongoTemplate.dropCollection(Task.class);
+        Random random = new Random(42);
+        List<Task> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (int i = 0; i < taskCount; i++) {
+            // About 1% of tasks mention the keyword, in the title or the description
+            boolean hit = random.nextInt(100) == 0;
+            String title = sentence(random, 4) + (hit && random.nextBoolean() ? " " + KEYWORD : "");
+            String description = sentence(random, 20) + (hit ? " " + KEYWORD + " " + i : "");
+
+            Task task = new Task(title, TaskStatus.values()[random.nextInt(TaskStatus.values().length)],
+                    TaskPriority.values()[random.nextInt(TaskPriority.values().length)], USERNAME);
+            task.setDescription(description);
+            task.setCategory(WORDS[random.nextInt(WORDS.length)]);
+            task.setTags(List.of(WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)]));
+            task.setVersion(0L);
+            task.setSearchTerms(TaskSearchService.searchTermsOf(task));
+            batch.add(task);
+
+            if (batch.size() == SEED_BATCH_SIZE) {
+                mongoTemplate.insert(batch, Task.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Task.class);
+        }
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TaskSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,443 @@
+package com.taskmanager.task_manager_backend.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.taskmanager.task_manager_backend.dto.BoardChangesDTO;
+import com.taskmanager.task_manager_backend.dto.KanbanColumnDTO;
+import com.taskmanager.task_manager_backend.dto.MoveTaskRequest;
+import com.taskmanager.task_manager_backend.dto.TaskDTO;
+import com.taskmanager.task_manager_backend.model.KanbanBoard;
+import com.taskmanager.task_manager_backend.model.KanbanColumn;
+import com.taskmanager.task_manager_backend.model.Notification;
+import com.taskmanager.task_manager_backend.model.NotificationPriority;
+import com.taskmanager.task_manager_backend.model.NotificationType;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskEvent;
+import com.taskmanager.task_manager_backend.model.TaskEventType;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import com.taskmanager.task_manager_backend.repository.KanbanBoardRepository;
+import com.taskmanager.task_manager_backend.repository.NotificationRepository;
+import com.taskmanager.task_manager_backend.repository.RevokedTokenRepository;
+import com.taskmanager.task_manager_backend.repository.TaskRepository;
+import com.taskmanager.task_manager_backend.repository.UserRepository;
+import com.taskmanager.task_manager_backend.scheduler.SchedulerCoordinator;
+import com.taskmanager.task_manager_backend.service.BoardRevisionService;
+import com.taskmanager.task_manager_backend.service.CardRankRebalancer;
+import com.taskmanager.task_manager_backend.service.KanbanService;
+import com.taskmanager.task_manager_backend.service.NotificationService;
+import com.taskmanager.task_manager_backend.service.NotificationStreamService;
+import com.taskmanager.task_manager_backend.service.TaskDueTimer;
+import com.taskmanager.task_manager_backend.service.TaskEventDispatcher;
+import com.taskmanager.task_manager_backend.service.TaskEventHandler;
+import com.taskmanager.task_manager_backend.service.TaskEventNotifier;
+import com.taskmanager.task_manager_backend.service.TaskSearchService;
+import com.taskmanager.task_manager_backend.service.TaskStatsService;
+import com.taskmanager.task_manager_backend.service.UnreadNotificationCounter;
+import com.taskmanager.task_manager_backend.service.TaskService;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository method and the hand-written template queries against a real
+ * MongoDB with the MongoIndexCatalog indexes in place, and fails if any of them is
+ * planned as a collection scan. Plans are read from the database profiler.
+ *
+ * Skipped without Docker, like the other Mongo tests, except under the index-plans
+ * Maven profile (mvn -Pindex-plans test), where a missing Docker fails the build.
+ * CI builds with that profile, so a plan regression fails there.
+ */
+@Testcontainers
+@EnabledIf("dockerAvailableOrRequired")
+class MongoIndexPlanTest {
+
+    private static final String DATABASE = "taskmanager-plans";
+    private static final String USERNAME = "alice";
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            TaskRepository.class,
+            NotificationRepository.class,
+            KanbanBoardRepository.class,
+            UserRepository.class,
+            RevokedTokenRepository.class);
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static MongoDatabase database;
+
+    private static TaskService taskService;
+    private static TaskSearchService taskSearchService;
+    private static SchedulerCoordinator schedulerCoordinator;
+    private static TaskDueTimer taskDueTimer;
+    private static NotificationService notificationService;
+    private static KanbanService kanbanService;
+
+    static boolean dockerAvailableOrRequired() {
+        return Boolean.getBoolean("index-plans.required") || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        database = client.getDatabase(DATABASE);
+
+        MongoIndexInitializer initializer = new MongoIndexInitializer();
+        ReflectionTestUtils.setField(initializer, "mongoTemplate", mongoTemplate);
+        initializer.ensureIndexes();
+        assertThat(initializer.isDone()).isTrue();
+
+        seed();
+        wireServices();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void everyRepositoryMethodUsesAnIndex() throws Exception {
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        List<String> collectionScans = new ArrayList<>();
+
+        for (Class<?> repositoryType : REPOSITORIES) {
+            Object repository = factory.getRepository(repositoryType);
+
+            for (Method method : repositoryType.getDeclaredMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+
+                restartProfiler();
+                method.invoke(repository, sampleArguments(method));
+                collectionScans.addAll(collectionScans(repositoryType.getSimpleName() + "." + method.getName()));
+            }
+        }
+
+        assertThat(collectionScans).isEmpty();
+    }
+
+    @Test
+    void taskPagesUseAnIndex() {
+        restartProfiler();
+        String cursor = taskService.getTasksPage(USERNAME, "createdAt", null, 1, null).getNextCursor();
+        taskService.getTasksPage(USERNAME, "createdAt", cursor, 1, null);
+        assertThat(collectionScans("TaskService.getTasksPage(createdAt)")).isEmpty();
+
+        restartProfiler();
+        cursor = taskService.getTasksPage(USERNAME, "dueDate", null, 1, "title").getNextCursor();
+        taskService.getTasksPage(USERNAME, "dueDate", cursor, 1, "title");
+        assertThat(collectionScans("TaskService.getTasksPage(dueDate)")).isEmpty();
+    }
+
+    @Test
+    void taskSearchUsesAnIndex() {
+        restartProfiler();
+        taskSearchService.search(USERNAME, "release", null, null, 10);
+        assertThat(collectionScans("TaskSearchService.search")).isEmpty();
+
+        restartProfiler();
+        taskSearchService.suggest(USERNAME, "plan rel", 10);
+        assertThat(collectionScans("TaskSearchService.suggest")).isEmpty();
+    }
+
+    @Test
+    void schedulerLeasesUseAnIndex() {
+        restartProfiler();
+        schedulerCoordinator.heartbeat();
+        assertThat(schedulerCoordinator.tryAcquire("plan-test")).isTrue();
+        schedulerCoordinator.heartbeat();
+        assertThat(collectionScans("SchedulerCoordinator")).isEmpty();
+    }
+
+    @Test
+    void dueTimerQueriesUseAnIndex() {
+        restartProfiler();
+        taskDueTimer.refill();
+        assertThat(taskDueTimer.size()).isPositive();
+        ReflectionTestUtils.setField(taskDueTimer, "rescannedAt", LocalDateTime.now().minusMinutes(5));
+        taskDueTimer.rescan();
+        assertThat(collectionScans("TaskDueTimer.refill/rescan")).isEmpty();
+    }
+
+    @Test
+    void notificationWritesUseAnIndex() {
+        restartProfiler();
+        Notification generated = notificationService.buildTaskNotification(USERNAME, "task-1",
+                NotificationType.TASK_OVERDUE, NotificationPriority.URGENT, "Task Overdue!", "Overdue", null);
+        generated.setDedupeKey(NotificationService.dedupeKey("task-1", NotificationType.TASK_OVERDUE, LocalDateTime.now()));
+        assertThat(notificationService.upsertNotifications(List.of(generated))).isEqualTo(1);
+        assertThat(notificationService.upsertNotifications(List.of(generated))).isZero();
+        assertThat(collectionScans("NotificationService.upsertNotifications")).isEmpty();
+
+        restartProfiler();
+        notificationService.markMultipleAsRead(List.of("notification-1"), USERNAME);
+        notificationService.markAllAsRead(USERNAME);
+        notificationService.cleanupOldNotifications();
+        assertThat(collectionScans("NotificationService bulk read/cleanup")).isEmpty();
+    }
+
+    @Test
+    void notificationStatsUseAnIndex() {
+        restartProfiler();
+        notificationService.getNotificationStats(USERNAME);
+        notificationService.getUnreadCount(USERNAME);
+        assertThat(collectionScans("NotificationService stats/unread count")).isEmpty();
+    }
+
+    @Test
+    void kanbanMovesUseAnIndex() {
+        List<Task> cards = seedBoard("board-move", List.of("column-1"), 10);
+        MoveTaskRequest move = new MoveTaskRequest();
+        move.setTaskId(cards.get(0).getId());
+        move.setFromColumnId("column-1");
+        move.setToColumnId("column-1");
+        move.setNewPosition(3);
+
+        // Unranked cards: the move ranks the column first
+        restartProfiler();
+        assertThat(kanbanService.moveTask(USERNAME, move).getRank()).isNotNull();
+        kanbanService.ranksAtEnd(USERNAME, "board-move", "column-1", 2);
+        kanbanService.rankAtStart(USERNAME, "board-move", "column-1");
+        assertThat(collectionScans("KanbanService.moveTask/rank placement")).isEmpty();
+    }
+
+    @Test
+    void columnDeletionUsesAnIndex() {
+        seedBoard("board-delete", List.of("column-0", "column-1"), 10);
+
+        restartProfiler();
+        kanbanService.deleteColumn(USERNAME, "board-delete", "column-1");
+        assertThat(mongoTemplate.count(new Query(Criteria.where("username").is(USERNAME)
+                .and("boardId").is("board-delete").and("columnId").is("column-0")), Task.class)).isEqualTo(10);
+        assertThat(collectionScans("KanbanService.deleteColumn")).isEmpty();
+    }
+
+    @Test
+    void boardPagesUseAnIndex() {
+        seedBoard("board-page", List.of("column-0"), 10);
+
+        restartProfiler();
+        KanbanColumnDTO firstColumn = kanbanService.getBoardPage(USERNAME, "board-page", 3).getColumns().get(0);
+        assertThat(firstColumn.isHasMore()).isTrue();
+        KanbanColumnDTO nextCards = kanbanService.getColumnPage(USERNAME, "board-page", "column-0",
+                firstColumn.getNextCursor(), 3);
+        assertThat(nextCards.getTasks()).hasSize(3);
+        assertThat(collectionScans("KanbanService.getBoardPage/getColumnPage")).isEmpty();
+    }
+
+    @Test
+    void boardChangesUseAnIndex() {
+        List<Task> cards = seedBoard("board-changes", List.of("column-0"), 5);
+        MoveTaskRequest move = new MoveTaskRequest();
+        move.setTaskId(cards.get(0).getId());
+        move.setFromColumnId("column-0");
+        move.setToColumnId("column-0");
+        move.setNewPosition(3);
+
+        restartProfiler();
+        long revision = kanbanService.getBoardRevision(USERNAME, "board-changes");
+        kanbanService.moveTask(USERNAME, move);
+        BoardChangesDTO changes = kanbanService.getBoardChanges(USERNAME, "board-changes", revision);
+        assertThat(changes.isResync()).isFalse();
+        assertThat(changes.getTasks()).extracting(TaskDTO::getId).contains(cards.get(0).getId());
+        assertThat(collectionScans("KanbanService.getBoardRevision/getBoardChanges")).isEmpty();
+    }
+
+    @Test
+    void outboxDispatchUsesAnIndex() {
+        TaskEventNotifier taskEventNotifier = new TaskEventNotifier();
+        ReflectionTestUtils.setField(taskEventNotifier, "notificationService", notificationService);
+        TaskEventDispatcher taskEventDispatcher = new TaskEventDispatcher();
+        ReflectionTestUtils.setField(taskEventDispatcher, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(taskEventDispatcher, "schedulerCoordinator", schedulerCoordinator);
+        ReflectionTestUtils.setField(taskEventDispatcher, "handlers", List.<TaskEventHandler>of(taskEventNotifier));
+
+        Task task = mongoTemplate.findOne(new Query(Criteria.where("username").is(USERNAME)), Task.class);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(task.getId())),
+                new Update().push("outbox", new TaskEvent(TaskEventType.COMPLETED, task, TaskStatus.TODO)), Task.class);
+        Task removed = new Task("Removed", TaskStatus.TODO, TaskPriority.LOW, USERNAME);
+        removed.setId(new ObjectId().toHexString());
+        mongoTemplate.insert(TaskEvent.deletion(removed));
+        // Written ahead of a removal that has not happened: stays pending
+        mongoTemplate.insert(TaskEvent.deletion(task));
+
+        restartProfiler();
+        taskEventDispatcher.dispatch();
+        assertThat(mongoTemplate.exists(new Query(Criteria.where("outbox.occurredAt").exists(true)), Task.class)).isFalse();
+        assertThat(mongoTemplate.findAll(TaskEvent.class)).extracting(TaskEvent::getTaskId).containsExactly(task.getId());
+        mongoTemplate.remove(new Query(), TaskEvent.class);
+        assertThat(collectionScans("TaskEventDispatcher")).isEmpty();
+    }
+
+    private static void wireServices() {
+        MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+
+        taskService = new TaskService();
+        ReflectionTestUtils.setField(taskService, "mongoTemplate", mongoTemplate);
+
+        taskSearchService = new TaskSearchService();
+        ReflectionTestUtils.setField(taskSearchService, "mongoTemplate", mongoTemplate);
+
+        schedulerCoordinator = new SchedulerCoordinator();
+        ReflectionTestUtils.setField(schedulerCoordinator, "mongoTemplate", mongoTemplate);
+
+        taskDueTimer = new TaskDueTimer();
+        ReflectionTestUtils.setField(taskDueTimer, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(taskDueTimer, "schedulerCoordinator", schedulerCoordinator);
+
+        notificationService = new NotificationService();
+        ReflectionTestUtils.setField(notificationService, "mongoTemplate", mongoTemplate);
+        UnreadNotificationCounter unreadNotificationCounter = new UnreadNotificationCounter();
+        ReflectionTestUtils.setField(unreadNotificationCounter, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(notificationService, "unreadNotificationCounter", unreadNotificationCounter);
+        ReflectionTestUtils.setField(notificationService, "notificationStreamService", new NotificationStreamService());
+
+        BoardRevisionService boardRevisionService = new BoardRevisionService();
+        ReflectionTestUtils.setField(boardRevisionService, "mongoTemplate", mongoTemplate);
+        CardRankRebalancer cardRankRebalancer = new CardRankRebalancer();
+        ReflectionTestUtils.setField(cardRankRebalancer, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(cardRankRebalancer, "boardRevisionService", boardRevisionService);
+
+        kanbanService = new KanbanService();
+        ReflectionTestUtils.setField(kanbanService, "taskRepository", repositories.getRepository(TaskRepository.class));
+        ReflectionTestUtils.setField(kanbanService, "boardRepository", repositories.getRepository(KanbanBoardRepository.class));
+        ReflectionTestUtils.setField(kanbanService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(kanbanService, "cardRankRebalancer", cardRankRebalancer);
+        ReflectionTestUtils.setField(kanbanService, "boardRevisionService", boardRevisionService);
+        ReflectionTestUtils.setField(kanbanService, "taskStatsService", new TaskStatsService());
+        ReflectionTestUtils.setField(kanbanService, "taskDueTimer", taskDueTimer);
+    }
+
+    private static void seed() {
+        for (int i = 0; i < 20; i++) {
+            Task task = new Task("Plan release " + i, TaskStatus.TODO, TaskPriority.MEDIUM, USERNAME);
+            task.setDueDate(LocalDateTime.now().plusDays(i % 5));
+            task.setBoardId(i % 2 == 0 ? "board-1" : null);
+            task.setColumnId(i % 2 == 0 ? "column-1" : null);
+            task.setPositionInColumn(i);
+            task.setVersion(0L);
+            task.setSearchTerms(TaskSearchService.searchTermsOf(task));
+            mongoTemplate.insert(task);
+
+            Notification notification = new Notification();
+            notification.setUsername(USERNAME);
+            notification.setTaskId(task.getId());
+            notification.setType(NotificationType.SYSTEM);
+            notification.setPriority(NotificationPriority.LOW);
+            notification.setTitle("Notification " + i);
+            notification.setCreatedAt(LocalDateTime.now());
+            mongoTemplate.insert(notification);
+        }
+
+        KanbanBoard board = new KanbanBoard();
+        board.setUsername(USERNAME);
+        board.setName("Board");
+        board.setCreatedAt(LocalDateTime.now());
+        board.setUpdatedAt(LocalDateTime.now());
+        mongoTemplate.insert(board);
+    }
+
+    /**
+     * A board of its own for one test, with unranked cards (from before ranking) in its last column
+     */
+    private static List<Task> seedBoard(String boardId, List<String> columnIds, int cardCount) {
+        KanbanBoard board = new KanbanBoard();
+        board.setId(boardId);
+        board.setUsername(USERNAME);
+        board.setName(boardId);
+        List<KanbanColumn> columns = new ArrayList<>();
+        for (int i = 0; i < columnIds.size(); i++) {
+            columns.add(new KanbanColumn(columnIds.get(i), "Column " + i, i));
+        }
+        board.setColumns(columns);
+        mongoTemplate.insert(board);
+
+        List<Task> cards = new ArrayList<>();
+        for (int i = 0; i < cardCount; i++) {
+            Task card = new Task("Card " + i, TaskStatus.TODO, TaskPriority.MEDIUM, USERNAME);
+            card.setBoardId(boardId);
+            card.setColumnId(columnIds.get(columnIds.size() - 1));
+            card.setPositionInColumn(i);
+            card.setVersion(0L);
+            cards.add(mongoTemplate.insert(card));
+        }
+        return cards;
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = sampleValue(types[i]);
+        }
+        return arguments;
+    }
+
+    private static Object sampleValue(Class<?> type) {
+        if (type == String.class) {
+            return USERNAME;
+        }
+        if (type == TaskStatus.class) {
+            return TaskStatus.TODO;
+        }
+        if (type == TaskPriority.class) {
+            return TaskPriority.HIGH;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(USERNAME);
+        }
+        throw new IllegalArgumentException("No sample value for " + type.getName());
+    }
+
+    // Dropping system.profile requires the profiler to be off
+    private static void restartProfiler() {
+        database.runCommand(new Document("profile", 0));
+        database.getCollection("system.profile").drop();
+        database.runCommand(new Document("profile", 2));
+    }
+
+    private static List<String> collectionScans(String source) {
+        List<String> scans = new ArrayList<>();
+        database.getCollection("system.profile")
+                .find(Filters.and(
+                        Filters.regex("ns", "^" + Pattern.quote(DATABASE) + "\\.(?!system\\.)"),
+                        Filters.regex("planSummary", "COLLSCAN")))
+                .forEach(entry -> scans.add(source + " -> " + entry.getString("ns") + " "
+                        + entry.get("command", Document.class).toJson()));
+        return scans;
+    }
+}
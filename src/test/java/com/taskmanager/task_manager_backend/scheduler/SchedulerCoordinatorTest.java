@@ -0,0 +1,177 @@
+package com.taskmanager.task_manager_backend.scheduler;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.taskmanager.task_manager_backend.model.SchedulerLease;
+import com.taskmanager.task_manager_backend.model.SchedulerNode;
+import com.taskmanager.task_manager_backend.model.SentEmail;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import com.taskmanager.task_manager_backend.model.User;
+import com.taskmanager.task_manager_backend.repository.UserRepository;
+import com.taskmanager.task_manager_backend.service.EmailService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lease and partition behaviour of several coordinators sharing one MongoDB.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchedulerCoordinatorTest {
+
+    private static final int NODES = 8;
+    private static final String LEASE = "test-job";
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "taskmanager-scheduler-test");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        client.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(SchedulerLease.class);
+        mongoTemplate.dropCollection(SchedulerNode.class);
+        mongoTemplate.dropCollection(SentEmail.class);
+        mongoTemplate.dropCollection(Task.class);
+        mongoTemplate.dropCollection(User.class);
+    }
+
+    @Test
+    void exactlyOneNodeAcquiresALease() throws Exception {
+        List<SchedulerCoordinator> nodes = nodes(NODES, false);
+
+        ExecutorService executor = Executors.newFixedThreadPool(NODES);
+        try {
+            List<Callable<Boolean>> calls = new ArrayList<>();
+            nodes.forEach(node -> calls.add(() -> node.tryAcquire(LEASE)));
+
+            int holders = 0;
+            for (Future<Boolean> result : executor.invokeAll(calls)) {
+                holders += result.get() ? 1 : 0;
+            }
+            assertThat(holders).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void fencingTokenIncreasesWhenTheLeaseChangesHands() {
+        List<SchedulerCoordinator> nodes = nodes(2, false);
+        SchedulerCoordinator first = nodes.get(0);
+        SchedulerCoordinator second = nodes.get(1);
+
+        assertThat(first.tryAcquire(LEASE)).isTrue();
+        long firstToken = first.fencingToken(LEASE);
+        assertThat(second.tryAcquire(LEASE)).isFalse();
+
+        first.release();
+        assertThat(second.tryAcquire(LEASE)).isTrue();
+
+        assertThat(second.fencingToken(LEASE)).isGreaterThan(firstToken);
+        assertThat(first.isCurrent(LEASE, firstToken)).isFalse();
+        assertThat(second.isCurrent(LEASE, second.fencingToken(LEASE))).isTrue();
+    }
+
+    @Test
+    void partitionedNodesSplitUsersWithoutOverlap() {
+        List<SchedulerCoordinator> nodes = nodes(3, true);
+        nodes.forEach(SchedulerCoordinator::heartbeat);
+        nodes.forEach(SchedulerCoordinator::heartbeat);
+
+        for (int i = 0; i < 1000; i++) {
+            String username = "user-" + i;
+            long owners = nodes.stream().filter(node -> node.ownsUsername(username)).count();
+            assertThat(owners).as(username).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void nodesThatBothOwnAUserSendItsRemindersOnce() {
+        for (int i = 0; i < 20; i++) {
+            String username = "user-" + i;
+            mongoTemplate.insert(new User(username, username + "@example.com", "secret", "First", "Last"));
+            Task task = new Task("Overdue " + i, TaskStatus.TODO, TaskPriority.HIGH, username);
+            task.setDueDate(LocalDateTime.now().minusDays(1));
+            mongoTemplate.insert(task);
+        }
+
+        // The second node has seen the first join; the first has not yet seen the second
+        List<SchedulerCoordinator> nodes = nodes(2, true);
+        nodes.get(0).heartbeat();
+        nodes.get(1).heartbeat();
+        assertThat(IntStream.range(0, 20).mapToObj(i -> "user-" + i)
+                .filter(username -> nodes.stream().allMatch(node -> node.ownsUsername(username))))
+                .isNotEmpty();
+
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        for (SchedulerCoordinator node : nodes) {
+            emailScheduler(node, sent).sendOverdueTaskReminders();
+        }
+
+        assertThat(sent).hasSize(20).doesNotHaveDuplicates();
+    }
+
+    private static EmailScheduler emailScheduler(SchedulerCoordinator node, List<String> sent) {
+        EmailService emailService = new EmailService() {
+            @Override
+            public void sendTaskOverdueEmail(String to, Task task) {
+                sent.add(task.getId());
+            }
+        };
+
+        EmailScheduler scheduler = new EmailScheduler();
+        ReflectionTestUtils.setField(scheduler, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(scheduler, "userRepository",
+                new MongoRepositoryFactory(mongoTemplate).getRepository(UserRepository.class));
+        ReflectionTestUtils.setField(scheduler, "emailService", emailService);
+        ReflectionTestUtils.setField(scheduler, "schedulerCoordinator", node);
+        return scheduler;
+    }
+
+    private static List<SchedulerCoordinator> nodes(int count, boolean partitioned) {
+        List<SchedulerCoordinator> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SchedulerCoordinator node = new SchedulerCoordinator();
+            ReflectionTestUtils.setField(node, "mongoTemplate", mongoTemplate);
+            ReflectionTestUtils.setField(node, "leaseTtl", Duration.ofSeconds(30));
+            ReflectionTestUtils.setField(node, "partitioningEnabled", partitioned);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,193 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.taskmanager.task_manager_backend.config.MongoIndexInitializer;
+import com.taskmanager.task_manager_backend.dto.BoardChangesDTO;
+import com.taskmanager.task_manager_backend.dto.TaskDTO;
+import com.taskmanager.task_manager_backend.model.BoardRevision;
+import com.taskmanager.task_manager_backend.model.KanbanBoard;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import com.taskmanager.task_manager_backend.repository.KanbanBoardRepository;
+import com.taskmanager.task_manager_backend.repository.TaskRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Board revisions and delta sync (GET /boards/{id}/changes) against a real MongoDB.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BoardChangesTest {
+
+    private static final String USERNAME = "alice";
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private BoardRevisionService boardRevisionService;
+    private KanbanService kanbanService;
+    private String boardId;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "taskmanager-board-changes");
+
+        MongoIndexInitializer initializer = new MongoIndexInitializer();
+        ReflectionTestUtils.setField(initializer, "mongoTemplate", mongoTemplate);
+        initializer.ensureIndexes();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        client.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Removed rather than dropped, so the catalog's unique index stays
+        mongoTemplate.remove(new Query(), Task.class);
+        mongoTemplate.remove(new Query(), KanbanBoard.class);
+        mongoTemplate.remove(new Query(), BoardRevision.class);
+
+        boardRevisionService = new BoardRevisionService();
+        ReflectionTestUtils.setField(boardRevisionService, "mongoTemplate", mongoTemplate);
+
+        MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+        kanbanService = new KanbanService();
+        ReflectionTestUtils.setField(kanbanService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(kanbanService, "boardRepository", repositories.getRepository(KanbanBoardRepository.class));
+        ReflectionTestUtils.setField(kanbanService, "taskRepository", repositories.getRepository(TaskRepository.class));
+        ReflectionTestUtils.setField(kanbanService, "boardRevisionService", boardRevisionService);
+
+        KanbanBoard board = new KanbanBoard();
+        board.setUsername(USERNAME);
+        board.setName("Board");
+        board.setCreatedAt(LocalDateTime.now());
+        board.setUpdatedAt(LocalDateTime.now());
+        boardId = mongoTemplate.insert(board).getId();
+    }
+
+    @Test
+    void changesListChangedCardsAndCardsThatLeftTheBoard() {
+        Task kept = card("Kept");
+        Task moved = card("Moved away");
+        long since = kanbanService.getBoardRevision(USERNAME, boardId);
+
+        boardRevisionService.cardsChanged(USERNAME, kept);
+        Task movedBefore = mongoTemplate.findById(moved.getId(), Task.class);
+        moved.setBoardId("other-board");
+        mongoTemplate.save(moved);
+        boardRevisionService.cardsChanged(USERNAME, movedBefore, moved);
+        boardRevisionService.cardChanged(USERNAME, boardId, "deleted-card");
+
+        BoardChangesDTO changes = kanbanService.getBoardChanges(USERNAME, boardId, since);
+
+        assertThat(changes.isResync()).isFalse();
+        assertThat(changes.getRevision()).isEqualTo(since + 3);
+        assertThat(changes.getTasks()).extracting(TaskDTO::getId).containsExactly(kept.getId());
+        assertThat(changes.getRemovedTaskIds()).containsExactlyInAnyOrder(moved.getId(), "deleted-card");
+        assertThat(changes.getColumns()).isNull();
+
+        // Nothing after the current revision
+        BoardChangesDTO none = kanbanService.getBoardChanges(USERNAME, boardId, changes.getRevision());
+        assertThat(none.isResync()).isFalse();
+        assertThat(none.getTasks()).isEmpty();
+        assertThat(none.getRemovedTaskIds()).isEmpty();
+    }
+
+    @Test
+    void boardChangesSendTheColumns() {
+        long since = kanbanService.getBoardRevision(USERNAME, boardId);
+        boardRevisionService.boardChanged(USERNAME, boardId);
+
+        BoardChangesDTO changes = kanbanService.getBoardChanges(USERNAME, boardId, since);
+
+        assertThat(changes.isResync()).isFalse();
+        assertThat(changes.getColumns()).isNotNull();
+        assertThat(changes.getTasks()).isEmpty();
+    }
+
+    @Test
+    void clientsBehindABulkChangeResync() {
+        Task task = card("Card");
+        boardRevisionService.cardsChanged(USERNAME, task);
+        long before = kanbanService.getBoardRevision(USERNAME, boardId);
+
+        boardRevisionService.bulkChanged(USERNAME, boardId);
+        long after = kanbanService.getBoardRevision(USERNAME, boardId);
+
+        assertThat(after).isEqualTo(before + 1);
+        assertThat(kanbanService.getBoardChanges(USERNAME, boardId, before).isResync()).isTrue();
+        assertThat(kanbanService.getBoardChanges(USERNAME, boardId, 0).isResync()).isTrue();
+
+        // A client that reloaded at the bulk change follows the log again
+        boardRevisionService.cardsChanged(USERNAME, task);
+        BoardChangesDTO changes = kanbanService.getBoardChanges(USERNAME, boardId, after);
+        assertThat(changes.isResync()).isFalse();
+        assertThat(changes.getTasks()).extracting(TaskDTO::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    void truncatedLogIsCompleteOnlyFromChangesFrom() {
+        int extra = 25;
+        for (int i = 0; i < BoardRevisionService.MAX_CHANGES + extra; i++) {
+            boardRevisionService.cardChanged(USERNAME, boardId, "card-" + i);
+        }
+
+        BoardRevision revision = boardRevisionService.find(USERNAME, boardId, true);
+        assertThat(revision.getRevision()).isEqualTo(BoardRevisionService.MAX_CHANGES + extra);
+        assertThat(revision.getChanges()).hasSize(BoardRevisionService.MAX_CHANGES);
+        assertThat(revision.getChangesFrom()).isEqualTo(revision.getChanges().get(0).getRevision());
+
+        assertThat(kanbanService.getBoardChanges(USERNAME, boardId, 0).isResync()).isTrue();
+        assertThat(kanbanService.getBoardChanges(USERNAME, boardId, revision.getChangesFrom() - 1).isResync()).isTrue();
+
+        BoardChangesDTO changes = kanbanService.getBoardChanges(USERNAME, boardId, revision.getChangesFrom());
+        assertThat(changes.isResync()).isFalse();
+        assertThat(changes.getRemovedTaskIds())
+                .hasSize((int) (revision.getRevision() - revision.getChangesFrom()))
+                .last().isEqualTo("card-" + (BoardRevisionService.MAX_CHANGES + extra - 1));
+    }
+
+    @Test
+    void writesNamingAnotherUsersBoardDoNotTouchItsRevision() {
+        // Another user's task write carrying this board's id, before the board has a revision
+        boardRevisionService.cardChanged("mallory", boardId, "their-card");
+
+        boardRevisionService.boardChanged(USERNAME, boardId);
+        boardRevisionService.boardChanged(USERNAME, boardId);
+
+        assertThat(kanbanService.getBoardRevision(USERNAME, boardId)).isEqualTo(2);
+        BoardChangesDTO changes = kanbanService.getBoardChanges(USERNAME, boardId, 0);
+        assertThat(changes.isResync()).isFalse();
+        assertThat(changes.getRemovedTaskIds()).isEmpty();
+    }
+
+    private Task card(String title) {
+        Task task = new Task(title, TaskStatus.TODO, TaskPriority.MEDIUM, USERNAME);
+        task.setBoardId(boardId);
+        task.setColumnId("todo");
+        task.setRank(CardRank.between(null, null));
+        task.setVersion(0L);
+        return mongoTemplate.insert(task);
+    }
+}
@@ -0,0 +1,111 @@
+package com.taskmanager.task_manager_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CardRankTest {
+
+    @Test
+    void rankBetweenOpenEnds() {
+        assertBetween(null, null, CardRank.between(null, null));
+        assertBetween(null, "a", CardRank.between(null, "a"));
+        assertBetween("z", null, CardRank.between("z", null));
+        assertBetween(null, "1", CardRank.between(null, "1"));
+    }
+
+    @Test
+    void rankBetweenANeighbourAndItsExtension() {
+        assertBetween("a", "an", CardRank.between("a", "an"));
+        assertBetween("a", "a1", CardRank.between("a", "a1"));
+        assertBetween("a", "a01", CardRank.between("a", "a01"));
+        assertBetween("az", "b", CardRank.between("az", "b"));
+    }
+
+    @Test
+    void rankBetweenAdjacentDigits() {
+        assertBetween("a", "b", CardRank.between("a", "b"));
+        assertBetween("9", "a", CardRank.between("9", "a"));
+        assertBetween("ay", "az", CardRank.between("ay", "az"));
+        assertBetween("azz", "b", CardRank.between("azz", "b"));
+    }
+
+    @Test
+    void repeatedInsertsAtOneSpotStayOrdered() {
+        List<String> column = new ArrayList<>(List.of(CardRank.between(null, null)));
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            int at = random.nextInt(column.size() + 1);
+            String before = at > 0 ? column.get(at - 1) : null;
+            String after = at < column.size() ? column.get(at) : null;
+            String rank = CardRank.between(before, after);
+            assertBetween(before, after, rank);
+            column.add(at, rank);
+        }
+
+        // Always at the top: the worst case for rank length
+        String first = column.get(0);
+        for (int i = 0; i < 100; i++) {
+            String rank = CardRank.between(null, first);
+            assertBetween(null, first, rank);
+            first = rank;
+        }
+    }
+
+    @Test
+    void rejectsUnorderedOrInvalidNeighbours() {
+        assertThatThrownBy(() -> CardRank.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CardRank.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CardRank.between("A", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CardRank.between("a-", "b")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void spreadGivesOrderedRanksOfOneLength() {
+        assertThat(CardRank.spread(null, null, 0)).isEmpty();
+
+        for (int count : new int[]{1, 17, 35, 100, 2000, 50_000}) {
+            assertSpread(null, null, count);
+            assertSpread("a", "b", count);
+            assertSpread("m", "m1", count);
+            assertSpread("zz", null, count);
+        }
+    }
+
+    @Test
+    void spreadWidensPastOneDigit() {
+        List<String> ranks = CardRank.spread(null, null, 100);
+        String prefix = CardRank.between(null, null);
+        assertThat(ranks.get(0)).hasSize(prefix.length() + 2);
+
+        ranks = CardRank.spread(null, null, 2000);
+        assertThat(ranks.get(0)).hasSize(prefix.length() + 3);
+    }
+
+    private static void assertSpread(String before, String after, int count) {
+        List<String> ranks = CardRank.spread(before, after, count);
+        assertThat(ranks).hasSize(count);
+        int length = ranks.get(0).length();
+        String previous = before;
+        for (String rank : ranks) {
+            assertBetween(previous, after, rank);
+            assertThat(rank).hasSize(length);
+            previous = rank;
+        }
+    }
+
+    private static void assertBetween(String before, String after, String rank) {
+        assertThat(rank).isNotEmpty().matches("[0-9a-z]+").doesNotEndWith("0");
+        if (before != null) {
+            assertThat(rank).isGreaterThan(before);
+        }
+        if (after != null) {
+            assertThat(rank).isLessThan(after);
+        }
+    }
+}
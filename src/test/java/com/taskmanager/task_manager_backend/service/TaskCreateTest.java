@@ -0,0 +1,102 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskEventType;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import com.taskmanager.task_manager_backend.repository.TaskRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /tasks semantics against a real MongoDB.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TaskCreateTest {
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private TaskService taskService;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "taskmanager-create");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        client.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Task.class);
+
+        taskService = new TaskService();
+        ReflectionTestUtils.setField(taskService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(taskService, "taskRepository",
+                new MongoRepositoryFactory(mongoTemplate).getRepository(TaskRepository.class));
+        ReflectionTestUtils.setField(taskService, "taskStatsService", new TaskStatsService());
+        ReflectionTestUtils.setField(taskService, "taskDueTimer", new TaskDueTimer());
+        BoardRevisionService boardRevisionService = new BoardRevisionService();
+        ReflectionTestUtils.setField(boardRevisionService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(taskService, "boardRevisionService", boardRevisionService);
+    }
+
+    @Test
+    void createWithAnExistingIdAndVersionInsertsANewTask() throws Exception {
+        Task existing = mongoTemplate.insert(new Task("Existing", TaskStatus.TODO, TaskPriority.LOW, "alice"));
+        existing = mongoTemplate.findById(existing.getId(), Task.class);
+
+        Task created = taskService.createTask(post("{\"id\":\"" + existing.getId() + "\",\"version\":"
+                + existing.getVersion() + ",\"title\":\"New\"}"));
+
+        assertThat(created.getId()).isNotEqualTo(existing.getId());
+        assertThat(created.getVersion()).isZero();
+        assertThat(mongoTemplate.count(new Query(), Task.class)).isEqualTo(2);
+        assertThat(mongoTemplate.findById(existing.getId(), Task.class).getTitle()).isEqualTo("Existing");
+
+        Task stored = mongoTemplate.findById(created.getId(), Task.class);
+        assertThat(stored.getTitle()).isEqualTo("New");
+        assertThat(stored.getOutbox()).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(TaskEventType.CREATED);
+            assertThat(event.getTaskId()).isEqualTo(created.getId());
+        });
+    }
+
+    @Test
+    void createWithAnUnknownIdAndVersionDoesNotConflict() throws Exception {
+        Task created = taskService.createTask(post("{\"id\":\"0123456789abcdef01234567\",\"version\":3,\"title\":\"New\"}"));
+
+        assertThat(created.getId()).isNotEqualTo("0123456789abcdef01234567");
+        assertThat(mongoTemplate.findById(created.getId(), Task.class)).isNotNull();
+        assertThat(mongoTemplate.count(new Query(), Task.class)).isEqualTo(1);
+    }
+
+    // The body as TaskController.createTask receives it
+    private Task post(String json) throws Exception {
+        Task task = objectMapper.readValue(json, Task.class);
+        task.setUsername("alice");
+        return task;
+    }
+}
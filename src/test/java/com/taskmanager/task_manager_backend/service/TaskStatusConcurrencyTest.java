@@ -0,0 +1,159 @@
+package com.taskmanager.task_manager_backend.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.taskmanager.task_manager_backend.exception.TaskNotFoundException;
+import com.taskmanager.task_manager_backend.model.Task;
+import com.taskmanager.task_manager_backend.model.TaskEventType;
+import com.taskmanager.task_manager_backend.model.TaskPriority;
+import com.taskmanager.task_manager_backend.model.TaskStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Hammers PATCH /tasks/{id}/status semantics against a real MongoDB.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TaskStatusConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private TaskService taskService;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "taskmanager-test");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        client.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Task.class);
+
+        taskService = new TaskService();
+        ReflectionTestUtils.setField(taskService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(taskService, "taskStatsService", new TaskStatsService());
+        ReflectionTestUtils.setField(taskService, "taskDueTimer", new TaskDueTimer());
+        BoardRevisionService boardRevisionService = new BoardRevisionService();
+        ReflectionTestUtils.setField(boardRevisionService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(taskService, "boardRevisionService", boardRevisionService);
+    }
+
+    @Test
+    void concurrentCompletionNotifiesExactlyOnce() throws Exception {
+        Task task = mongoTemplate.insert(new Task("Ship it", TaskStatus.TODO, TaskPriority.HIGH, "alice"));
+
+        List<Task> results = runConcurrently(THREADS,
+                () -> taskService.updateTaskStatus(task.getId(), "alice", TaskStatus.COMPLETED));
+
+        assertThat(results).allMatch(t -> t.getStatus() == TaskStatus.COMPLETED);
+        assertThat(mongoTemplate.findById(task.getId(), Task.class).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        // Only the call whose pre-image was still TODO saw a transition, so one event was queued
+        Task stored = mongoTemplate.findById(task.getId(), Task.class);
+        assertThat(stored.getOutbox()).hasSize(1);
+        assertThat(stored.getOutbox().get(0).getType()).isEqualTo(TaskEventType.COMPLETED);
+        assertThat(stored.getOutbox().get(0).getPreviousStatus()).isEqualTo(TaskStatus.TODO);
+    }
+
+    @Test
+    void statusUpdatesDoNotClobberConcurrentEdits() throws Exception {
+        Task task = mongoTemplate.insert(new Task("Busy task", TaskStatus.TODO, TaskPriority.MEDIUM, "alice"));
+        Query byId = new Query(Criteria.where("id").is(task.getId()));
+
+        List<Callable<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            int n = i;
+            if (n % 2 == 0) {
+                TaskStatus status = TaskStatus.values()[n % TaskStatus.values().length];
+                calls.add(() -> taskService.updateTaskStatus(task.getId(), "alice", status));
+            } else {
+                calls.add(() -> mongoTemplate.updateFirst(byId, new Update().push("tags", "tag-" + n), Task.class));
+            }
+        }
+        runConcurrently(calls);
+
+        // A read-modify-save status update would drop tags pushed between its read and its save
+        Task stored = mongoTemplate.findById(task.getId(), Task.class);
+        assertThat(stored.getTags()).hasSize(THREADS * 2);
+        assertThat(stored.getTitle()).isEqualTo("Busy task");
+
+        // Only completions are queued, each from a status the task really had before it
+        assertThat(stored.getOutbox()).isNotEmpty().allSatisfy(event -> {
+            assertThat(event.getType()).isEqualTo(TaskEventType.COMPLETED);
+            assertThat(event.getPreviousStatus()).isNotNull().isNotEqualTo(TaskStatus.COMPLETED);
+        });
+    }
+
+    @Test
+    void otherUsersCannotUpdateStatus() {
+        Task task = mongoTemplate.insert(new Task("Private", TaskStatus.TODO, TaskPriority.LOW, "alice"));
+
+        assertThatThrownBy(() -> taskService.updateTaskStatus(task.getId(), "mallory", TaskStatus.COMPLETED))
+                .isInstanceOf(TaskNotFoundException.class);
+        assertThat(mongoTemplate.findById(task.getId(), Task.class).getStatus()).isEqualTo(TaskStatus.TODO);
+    }
+
+    private static <T> List<T> runConcurrently(int copies, Callable<T> call) throws Exception {
+        List<Callable<T>> calls = new ArrayList<>();
+        for (int i = 0; i < copies; i++) {
+            calls.add(call);
+        }
+        return runConcurrently(calls);
+    }
+
+    private static <T> List<T> runConcurrently(List<Callable<T>> calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> call : calls) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}